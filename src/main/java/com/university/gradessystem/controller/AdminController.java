@@ -1,19 +1,52 @@
 package com.university.gradessystem.controller;
 
+import com.university.gradessystem.dto.AdmissionQueueStats;
+import com.university.gradessystem.dto.CohortGpaReport;
+import com.university.gradessystem.dto.CohortStudentGpa;
+import com.university.gradessystem.dto.CourseCountReport;
+import com.university.gradessystem.dto.CourseSummary;
+import com.university.gradessystem.dto.EnrollmentImportResult;
+import com.university.gradessystem.dto.EnrollmentSummary;
+import com.university.gradessystem.dto.NotificationDispatchStats;
+import com.university.gradessystem.dto.NotificationRetentionRun;
+import com.university.gradessystem.dto.UserCountReport;
+import com.university.gradessystem.dto.UserSummary;
 import com.university.gradessystem.model.Course;
+import com.university.gradessystem.model.Enrollment;
 import com.university.gradessystem.model.GradePolicy;
 import com.university.gradessystem.model.SystemConfig;
 import com.university.gradessystem.model.User;
+import com.university.gradessystem.report.GradeCsvExporter;
+import com.university.gradessystem.report.GradeWorkbookExporter;
 import com.university.gradessystem.service.CourseService;
+import com.university.gradessystem.service.EnrollmentAdmissionQueue;
+import com.university.gradessystem.service.EnrollmentImportService;
 import com.university.gradessystem.service.EnrollmentService;
+import com.university.gradessystem.service.GradeService;
+import com.university.gradessystem.service.NotificationDispatcher;
+import com.university.gradessystem.service.NotificationRetentionService;
+import com.university.gradessystem.service.ReportRollupService;
 import com.university.gradessystem.service.SystemConfigService;
+import com.university.gradessystem.service.TranscriptBatchService;
 import com.university.gradessystem.service.UserService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,15 +58,37 @@ public class AdminController {
     private final UserService userService;
     private final CourseService courseService;
     private final EnrollmentService enrollmentService;
+    private final EnrollmentAdmissionQueue enrollmentAdmissionQueue;
+    private final EnrollmentImportService enrollmentImportService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationRetentionService notificationRetentionService;
+    private final GradeService gradeService;
+    private final ReportRollupService reportRollupService;
+    private final GradeWorkbookExporter gradeWorkbookExporter;
+    private final GradeCsvExporter gradeCsvExporter;
+    private final TranscriptBatchService transcriptBatchService;
     private final SystemConfigService systemConfigService;
     private final PasswordEncoder passwordEncoder;
 
     public AdminController(UserService userService, CourseService courseService,
-            EnrollmentService enrollmentService, SystemConfigService systemConfigService,
-            PasswordEncoder passwordEncoder) {
+            EnrollmentService enrollmentService, EnrollmentAdmissionQueue enrollmentAdmissionQueue,
+            EnrollmentImportService enrollmentImportService, NotificationDispatcher notificationDispatcher,
+            NotificationRetentionService notificationRetentionService, GradeService gradeService,
+            ReportRollupService reportRollupService, GradeWorkbookExporter gradeWorkbookExporter,
+            GradeCsvExporter gradeCsvExporter, TranscriptBatchService transcriptBatchService,
+            SystemConfigService systemConfigService, PasswordEncoder passwordEncoder) {
         this.userService = userService;
         this.courseService = courseService;
         this.enrollmentService = enrollmentService;
+        this.enrollmentAdmissionQueue = enrollmentAdmissionQueue;
+        this.enrollmentImportService = enrollmentImportService;
+        this.notificationDispatcher = notificationDispatcher;
+        this.notificationRetentionService = notificationRetentionService;
+        this.gradeService = gradeService;
+        this.reportRollupService = reportRollupService;
+        this.gradeWorkbookExporter = gradeWorkbookExporter;
+        this.gradeCsvExporter = gradeCsvExporter;
+        this.transcriptBatchService = transcriptBatchService;
         this.systemConfigService = systemConfigService;
         this.passwordEncoder = passwordEncoder;
     }
@@ -54,18 +109,23 @@ public class AdminController {
     // User Management API endpoints
     @GetMapping("/api/users")
     @ResponseBody
-    public List<User> getAllUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<?> getAllUsers(@PageableDefault(size = 50, sort = "id") Pageable pageable) {
+        try {
+            return ResponseEntity.ok(toPageResponse(userService.getUserSummaries(pageable)));
+        } catch (InvalidDataAccessApiUsageException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid sort parameter"));
+        }
     }
 
     @GetMapping("/api/users/{role}")
     @ResponseBody
-    public List<User> getUsersByRole(@PathVariable String role) {
+    public ResponseEntity<?> getUsersByRole(@PathVariable String role) {
         try {
             User.Role userRole = User.Role.valueOf("ROLE_" + role.toUpperCase());
-            return userService.getUsersByRole(userRole);
+            List<UserSummary> users = userService.getUserSummariesByRole(userRole);
+            return ResponseEntity.ok(users);
         } catch (IllegalArgumentException e) {
-            return userService.getAllUsers();
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown role: " + role));
         }
     }
 
@@ -147,14 +207,18 @@ public class AdminController {
     // Course Management API endpoints
     @GetMapping("/api/courses")
     @ResponseBody
-    public List<Course> getAllCourses() {
-        return courseService.getAllCourses();
+    public ResponseEntity<?> getAllCourses(@PageableDefault(size = 50, sort = "courseCode") Pageable pageable) {
+        try {
+            return ResponseEntity.ok(toPageResponse(courseService.getCourseSummaries(pageable)));
+        } catch (InvalidDataAccessApiUsageException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid sort parameter"));
+        }
     }
 
     @GetMapping("/api/courses/active")
     @ResponseBody
-    public List<Course> getActiveCourses() {
-        return courseService.getActiveCourses();
+    public List<CourseSummary> getActiveCourses() {
+        return courseService.getActiveCourseSummaries();
     }
 
     @PostMapping("/api/courses")
@@ -228,7 +292,9 @@ public class AdminController {
     @ResponseBody
     public ResponseEntity<?> enrollStudent(@RequestParam Long studentId, @RequestParam Long courseId) {
         try {
-            return ResponseEntity.ok(enrollmentService.enrollStudent(studentId, courseId));
+            Enrollment enrollment = enrollmentService.enrollStudent(studentId, courseId);
+            // Status tells the caller whether a seat was taken or the student was waitlisted
+            return ResponseEntity.ok(EnrollmentSummary.from(enrollment));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
@@ -236,21 +302,36 @@ public class AdminController {
         }
     }
 
+    // Bulk import of (studentUsername, courseCode) rows, sent as text/csv or as a JSON array.
+    // Invalid rows are listed in the result and skipped; the valid ones are imported.
+    @PostMapping(value = "/api/enrollments/import", consumes = { "text/csv", MediaType.APPLICATION_JSON_VALUE })
+    @ResponseBody
+    public ResponseEntity<?> importEnrollments(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        try {
+            EnrollmentImportResult result = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)
+                    ? enrollmentImportService.importJson(body)
+                    : enrollmentImportService.importCsv(body);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to import enrollments: " + e.getMessage()));
+        }
+    }
+
+    // Keyset-paginated: pass the returned nextCursor as afterId to fetch the following page
     @GetMapping("/api/enrollments")
     @ResponseBody
-    public List<Map<String, Object>> getAllEnrollments() {
-        return enrollmentService.getAllEnrollments().stream()
-                .map(enrollment -> {
-                    Map<String, Object> enrollmentData = new HashMap<>();
-                    enrollmentData.put("id", enrollment.getId());
-                    enrollmentData.put("studentName", enrollment.getStudent().getFullName());
-                    enrollmentData.put("courseName", enrollment.getCourse().getTitle());
-                    enrollmentData.put("courseCode", enrollment.getCourse().getCourseCode());
-                    enrollmentData.put("status", enrollment.getStatus());
-                    enrollmentData.put("enrollmentDate", enrollment.getEnrollmentDate());
-                    return enrollmentData;
-                })
-                .toList();
+    public Map<String, Object> getAllEnrollments(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int size) {
+        int pageSize = Math.max(1, Math.min(size, 1000));
+        List<EnrollmentSummary> enrollments = enrollmentService.getEnrollmentSummariesAfter(afterId, pageSize);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("content", enrollments);
+        result.put("size", pageSize);
+        result.put("nextCursor", enrollments.size() == pageSize ? enrollments.get(enrollments.size() - 1).id() : null);
+        return result;
     }
 
     @DeleteMapping("/api/enrollments/{id}")
@@ -264,6 +345,85 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/api/courses/{courseId}/gradebook.xlsx")
+    public ResponseEntity<StreamingResponseBody> exportGradebook(@PathVariable Long courseId) {
+        return courseService.getCourseById(courseId)
+                .map(course -> ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                "attachment; filename=\"gradebook_" + course.getCourseCode() + ".xlsx\"")
+                        .contentType(MediaType.parseMediaType(
+                                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                        .body((StreamingResponseBody) out -> gradeWorkbookExporter.writeCourseGradebook(course, out)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/api/courses/{courseId}/gradebook.csv")
+    public ResponseEntity<StreamingResponseBody> exportGradebookCsv(@PathVariable Long courseId) {
+        return courseService.getCourseById(courseId)
+                .map(course -> ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                "attachment; filename=\"gradebook_" + course.getCourseCode() + ".csv\"")
+                        .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                        .body((StreamingResponseBody) out -> gradeCsvExporter.writeCourseGradebook(course, out)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Full-table dumps, streamed row by row from a database cursor
+    @GetMapping("/api/enrollments/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportEnrollmentsCsv() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"enrollments.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .body(gradeCsvExporter::writeEnrollments);
+    }
+
+    @GetMapping("/api/users/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportUsersCsv() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .body(gradeCsvExporter::writeUsers);
+    }
+
+    // Term-end transcripts for every student, rendered in the background into one ZIP archive;
+    // poll the returned job for progress and download the archive once it has completed
+    @PostMapping("/api/transcripts/batch")
+    @ResponseBody
+    public ResponseEntity<?> startTranscriptBatch() {
+        try {
+            return ResponseEntity.accepted().body(transcriptBatchService.start());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/api/transcripts/batch/{jobId}")
+    @ResponseBody
+    public ResponseEntity<?> getTranscriptBatch(@PathVariable String jobId) {
+        return transcriptBatchService.getStatus(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/api/transcripts/batch/{jobId}/cancel")
+    @ResponseBody
+    public ResponseEntity<?> cancelTranscriptBatch(@PathVariable String jobId) {
+        if (!transcriptBatchService.cancel(jobId)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "No running transcript batch with id " + jobId));
+        }
+        return ResponseEntity.ok(Map.of("message", "Cancellation requested"));
+    }
+
+    @GetMapping("/api/transcripts/batch/{jobId}/download")
+    public ResponseEntity<Resource> downloadTranscriptBatch(@PathVariable String jobId) {
+        return transcriptBatchService.getArchive(jobId)
+                .map(archive -> ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transcripts.zip\"")
+                        .contentType(MediaType.parseMediaType("application/zip"))
+                        .<Resource>body(new FileSystemResource(archive)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/api/enrollment-stats")
     @ResponseBody
     public Map<String, Object> getEnrollmentStats() {
@@ -273,11 +433,10 @@ public class AdminController {
         for (Course course : courses) {
             Map<String, Object> courseStats = new HashMap<>();
             courseStats.put("capacity", course.getCapacity());
-            courseStats.put("enrolled", courseService.countEnrolledStudents(course));
+            courseStats.put("enrolled", course.getEnrolledCount());
             courseStats.put("available",
-                    course.getCapacity() != null ? course.getCapacity() - courseService.countEnrolledStudents(course)
-                            : "Unlimited");
-            courseStats.put("waitlist", 0); // Implement waitlist count if needed
+                    course.getCapacity() != null ? course.getCapacity() - course.getEnrolledCount() : "Unlimited");
+            courseStats.put("waitlist", course.getWaitlistedCount());
 
             stats.put(course.getCourseCode(), courseStats);
         }
@@ -285,6 +444,37 @@ public class AdminController {
         return stats;
     }
 
+    // Queue depth and wait times of the student enrollment admission queue
+    @GetMapping("/api/admission-queue")
+    @ResponseBody
+    public AdmissionQueueStats getAdmissionQueueStats() {
+        return enrollmentAdmissionQueue.getStats();
+    }
+
+    // Enqueue latency and insert throughput of course notification fan-out
+    @GetMapping("/api/notification-dispatch")
+    @ResponseBody
+    public NotificationDispatchStats getNotificationDispatchStats() {
+        return notificationDispatcher.getStats();
+    }
+
+    // Rows purged and table size per retention run, most recent first
+    @GetMapping("/api/notification-retention")
+    @ResponseBody
+    public List<NotificationRetentionRun> getNotificationRetentionHistory() {
+        return notificationRetentionService.getHistory();
+    }
+
+    @PostMapping("/api/notification-retention/run")
+    @ResponseBody
+    public ResponseEntity<?> runNotificationRetention() {
+        try {
+            return ResponseEntity.ok(notificationRetentionService.run());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // Grade Policy API endpoints
     @PostMapping("/api/grade-policy")
     @ResponseBody
@@ -378,29 +568,100 @@ public class AdminController {
     @GetMapping("/api/reports/users")
     @ResponseBody
     public Map<String, Object> getUserReports() {
+        UserCountReport counts = userService.getUserCountReport();
         Map<String, Object> report = new HashMap<>();
-        report.put("totalUsers", userService.getAllUsers().size());
-        report.put("activeUsers", userService.getAllUsers().stream().filter(User::isActive).count());
-        report.put("students", userService.countStudents());
-        report.put("professors", userService.countProfessors());
-        report.put("admins", userService.getUsersByRole(User.Role.ROLE_ADMIN).size());
+        report.put("totalUsers", counts.totalUsers());
+        report.put("activeUsers", counts.activeUsers());
+        report.put("students", counts.usersByRole().get(User.Role.ROLE_STUDENT));
+        report.put("professors", counts.usersByRole().get(User.Role.ROLE_PROFESSOR));
+        report.put("admins", counts.usersByRole().get(User.Role.ROLE_ADMIN));
+        report.put("usersByRole", counts.usersByRole());
+        report.put("activeUsersByRole", counts.activeUsersByRole());
         return report;
     }
 
     @GetMapping("/api/reports/courses")
     @ResponseBody
     public Map<String, Object> getCourseReports() {
+        CourseCountReport counts = courseService.getCourseCountReport();
         Map<String, Object> report = new HashMap<>();
-        List<Course> allCourses = courseService.getAllCourses();
-        report.put("totalCourses", allCourses.size());
-        report.put("activeCourses", courseService.countActiveCourses());
+        report.put("totalCourses", counts.totalCourses());
+        report.put("activeCourses", counts.activeCourses());
+        report.put("departmentStats", counts.coursesByDepartment());
+        report.put("activeDepartmentStats", counts.activeCoursesByDepartment());
+        return report;
+    }
+
+    // Cohort GPA for dean's list and probation runs; minGpa/maxGpa narrow the returned students
+    @GetMapping("/api/reports/gpa")
+    @ResponseBody
+    public ResponseEntity<?> getCohortGpa(
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) Double minGpa,
+            @RequestParam(required = false) Double maxGpa) {
+        try {
+            CohortGpaReport cohort = gradeService.calculateCohortGpa(department, semester, academicYear);
+
+            List<CohortStudentGpa> students = cohort.students().stream()
+                    .filter(student -> minGpa == null || student.gpa() >= minGpa)
+                    .filter(student -> maxGpa == null || student.gpa() <= maxGpa)
+                    .toList();
+
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("studentsScanned", cohort.students().size());
+            metadata.put("studentsReturned", students.size());
+            metadata.put("enrollmentRows", cohort.enrollmentRows());
+            metadata.put("scanMillis", cohort.scanMillis());
+            metadata.put("reduceMillis", cohort.reduceMillis());
+            metadata.put("rowsPerSecond", cohort.rowsPerSecond());
+            metadata.put("parallelism", cohort.parallelism());
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("students", students);
+            result.put("metadata", metadata);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to calculate cohort GPA: " + e.getMessage()));
+        }
+    }
+
+    // Enrollment, grade and drop totals per department, semester, academic year or professor, or
+    // institution-wide; served from the course report stats the report rollup job keeps current
+    @GetMapping("/api/reports/rollups/{dimension}")
+    @ResponseBody
+    public ResponseEntity<?> getReportRollups(@PathVariable String dimension) {
+        ReportRollupService.Dimension reportDimension;
+        try {
+            reportDimension = ReportRollupService.Dimension.fromPath(dimension);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("dimension", reportDimension.getPath());
+        result.put("rows", reportRollupService.getRollups(reportDimension));
+        result.put("refreshedAt", reportRollupService.getLastRefreshedAt());
+        result.put("pendingCourses", reportRollupService.getPendingCourses());
+        return ResponseEntity.ok(result);
+    }
 
-        Map<String, Long> departmentStats = allCourses.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                        Course::getDepartment,
-                        java.util.stream.Collectors.counting()));
-        report.put("departmentStats", departmentStats);
+    @PostMapping("/api/reports/rollups/rebuild")
+    @ResponseBody
+    public ResponseEntity<?> rebuildReportRollups() {
+        long start = System.currentTimeMillis();
+        int courses = reportRollupService.rebuildAll();
+        return ResponseEntity.ok(Map.of("courses", courses, "elapsedMillis", System.currentTimeMillis() - start));
+    }
 
-        return report;
+    private Map<String, Object> toPageResponse(Page<?> page) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("content", page.getContent());
+        result.put("page", page.getNumber());
+        result.put("size", page.getSize());
+        result.put("totalElements", page.getTotalElements());
+        result.put("totalPages", page.getTotalPages());
+        return result;
     }
 }
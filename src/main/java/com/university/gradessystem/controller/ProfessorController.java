@@ -1,38 +1,75 @@
 package com.university.gradessystem.controller;
 
+import com.university.gradessystem.dto.BulkGradeRequest;
+import com.university.gradessystem.dto.EnrollmentGradeStats;
+import com.university.gradessystem.dto.GradeSearchCriteria;
+import com.university.gradessystem.dto.ProfessorGradeStats;
 import com.university.gradessystem.model.*;
+import com.university.gradessystem.report.GradeCsvExporter;
+import com.university.gradessystem.report.GradeWorkbookExporter;
 import com.university.gradessystem.service.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/professor")
 public class ProfessorController {
 
+    private static final Map<String, String> GRADE_SORT_PROPERTIES = Map.of(
+            "gradedDate", "gradedDate",
+            "score", "score",
+            "assignmentName", "assignmentName",
+            "studentName", "enrollment.student.fullName",
+            "courseCode", "enrollment.course.courseCode");
+
     private final UserService userService;
     private final CourseService courseService;
     private final EnrollmentService enrollmentService;
     private final GradeService gradeService;
+    private final StudentSummaryService studentSummaryService;
+    private final CourseAnalyticsService courseAnalyticsService;
     private final NotificationService notificationService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final GradeWorkbookExporter gradeWorkbookExporter;
+    private final GradeCsvExporter gradeCsvExporter;
 
     public ProfessorController(UserService userService, CourseService courseService,
             EnrollmentService enrollmentService, GradeService gradeService,
-            NotificationService notificationService) {
+            StudentSummaryService studentSummaryService, CourseAnalyticsService courseAnalyticsService,
+            NotificationService notificationService, NotificationDispatcher notificationDispatcher,
+            GradeWorkbookExporter gradeWorkbookExporter, GradeCsvExporter gradeCsvExporter) {
         this.userService = userService;
         this.courseService = courseService;
         this.enrollmentService = enrollmentService;
         this.gradeService = gradeService;
+        this.studentSummaryService = studentSummaryService;
+        this.courseAnalyticsService = courseAnalyticsService;
         this.notificationService = notificationService;
+        this.notificationDispatcher = notificationDispatcher;
+        this.gradeWorkbookExporter = gradeWorkbookExporter;
+        this.gradeCsvExporter = gradeCsvExporter;
     }
 
     @GetMapping
@@ -40,25 +77,12 @@ public class ProfessorController {
         User professor = (User) authentication.getPrincipal();
         List<Course> courses = courseService.getActiveCoursesByProfessor(professor);
 
-        // Count total students across all courses
-        int totalStudents = 0;
-        int gradesSubmitted = 0;
-        int totalGrades = 0;
-
-        for (Course course : courses) {
-            List<Enrollment> enrollments = enrollmentService.getEnrollmentsByCourse(course);
-            totalStudents += enrollments.size();
-
-            for (Enrollment enrollment : enrollments) {
-                List<Grade> grades = gradeService.getGradesByEnrollment(enrollment);
-                totalGrades += grades.size();
-                gradesSubmitted += grades.stream().filter(g -> g.getScore() != null).count();
-            }
-        }
+        ProfessorGradeStats stats = gradeService.getProfessorGradeStats(professor);
+        long totalGrades = stats.totalGrades();
 
-        model.addAttribute("totalStudents", totalStudents);
+        model.addAttribute("totalStudents", stats.totalStudents());
         model.addAttribute("coursesTeaching", courses.size());
-        model.addAttribute("gradesSubmitted", totalGrades > 0 ? (gradesSubmitted * 100 / totalGrades) : 0);
+        model.addAttribute("gradesSubmitted", totalGrades > 0 ? (stats.scoredGrades() * 100 / totalGrades) : 0);
         model.addAttribute("courses", courses);
 
         return "professor";
@@ -76,7 +100,10 @@ public class ProfessorController {
     public List<Map<String, Object>> getStudentsInCourse(@PathVariable Long courseId) {
         return courseService.getCourseById(courseId)
                 .map(course -> {
-                    List<Enrollment> enrollments = enrollmentService.getEnrollmentsByCourse(course);
+                    List<Enrollment> enrollments = enrollmentService.getEnrollmentsWithStudentByCourse(course);
+                    Map<Long, EnrollmentGradeStats> gradeStats = gradeService
+                            .getEnrollmentGradeStatsByCourse(course.getId());
+
                     return enrollments.stream()
                             .map(enrollment -> {
                                 Map<String, Object> studentInfo = new HashMap<>();
@@ -86,13 +113,10 @@ public class ProfessorController {
                                 studentInfo.put("email", enrollment.getStudent().getEmail());
                                 studentInfo.put("status", enrollment.getStatus());
 
-                                // Calculate current grade
-                                Double avgGrade = gradeService.calculateAverageGrade(enrollment);
+                                EnrollmentGradeStats stats = gradeStats.get(enrollment.getId());
+                                Double avgGrade = stats != null ? stats.average() : null;
                                 studentInfo.put("currentGrade", avgGrade != null ? avgGrade : 0);
-
-                                // Get all grades for this enrollment
-                                List<Grade> grades = gradeService.getGradesByEnrollment(enrollment);
-                                studentInfo.put("totalGrades", grades.size());
+                                studentInfo.put("totalGrades", stats != null ? stats.gradeCount() : 0);
 
                                 return studentInfo;
                             })
@@ -142,6 +166,23 @@ public class ProfessorController {
         }
     }
 
+    // Whole-assignment grade entry: one request and one transaction for a full gradebook column
+    @PostMapping("/api/grades/bulk")
+    @ResponseBody
+    public ResponseEntity<?> addGrades(@RequestBody BulkGradeRequest request, Authentication authentication) {
+        try {
+            User professor = (User) authentication.getPrincipal();
+            List<Grade> savedGrades = gradeService.addGrades(professor, request);
+            return ResponseEntity.ok(Map.of(
+                    "message", savedGrades.size() + " grades submitted successfully",
+                    "saved", savedGrades.size()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to add grades: " + e.getMessage()));
+        }
+    }
+
     @PutMapping("/api/grades/{gradeId}")
     @ResponseBody
     public ResponseEntity<?> updateGrade(
@@ -149,18 +190,8 @@ public class ProfessorController {
             @RequestBody Grade gradeUpdate) {
 
         try {
-            return gradeService.getGradeById(gradeId)
+            return gradeService.updateGrade(gradeId, gradeUpdate)
                     .map(grade -> {
-                        grade.setScore(gradeUpdate.getScore());
-                        grade.setAssignmentName(gradeUpdate.getAssignmentName());
-                        grade.setAssignmentType(gradeUpdate.getAssignmentType());
-                        if (gradeUpdate.getComments() != null) {
-                            grade.setComments(gradeUpdate.getComments());
-                        }
-                        grade.setGradedDate(LocalDateTime.now());
-
-                        Grade updatedGrade = gradeService.updateGrade(grade);
-
                         // Send notification to student
                         notificationService.createNotification(
                                 grade.getEnrollment().getStudent(),
@@ -169,7 +200,7 @@ public class ProfessorController {
                                 "grade_updated",
                                 grade.getEnrollment().getCourse());
 
-                        return ResponseEntity.ok(updatedGrade);
+                        return ResponseEntity.ok(grade);
                     })
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
@@ -202,24 +233,21 @@ public class ProfessorController {
         try {
             return userService.getUserById(studentId)
                     .map(student -> {
-                        Double gpa = gradeService.calculateGPA(student);
+                        StudentAcademicSummary summary = studentSummaryService.getSummary(student.getId());
                         Map<String, Object> result = new HashMap<>();
-                        result.put("gpa", gpa);
+                        result.put("gpa", summary.getGpa());
                         result.put("studentName", student.getFullName());
 
                         // Get grade breakdown
-                        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(student);
                         List<Map<String, Object>> breakdown = new ArrayList<>();
 
-                        for (Enrollment enrollment : enrollments) {
+                        for (StudentCourseResult enrollment : summary.getCourses()) {
                             Map<String, Object> courseGrade = new HashMap<>();
-                            courseGrade.put("course", enrollment.getCourse().getTitle());
-                            courseGrade.put("courseCode", enrollment.getCourse().getCourseCode());
-                            courseGrade.put("credits", enrollment.getCourse().getCredits());
-
-                            Double avgGrade = gradeService.calculateAverageGrade(enrollment);
-                            courseGrade.put("average", avgGrade);
-                            courseGrade.put("letterGrade", gradeService.convertToLetterGrade(avgGrade));
+                            courseGrade.put("course", enrollment.getCourseTitle());
+                            courseGrade.put("courseCode", enrollment.getCourseCode());
+                            courseGrade.put("credits", enrollment.getCredits());
+                            courseGrade.put("average", enrollment.getCurrentGrade());
+                            courseGrade.put("letterGrade", enrollment.getLetterGrade());
 
                             breakdown.add(courseGrade);
                         }
@@ -239,81 +267,124 @@ public class ProfessorController {
             @RequestParam Long courseId,
             @RequestParam String type,
             @RequestParam String message,
-            @RequestParam String recipients) {
+            @RequestParam(defaultValue = "all") String recipients) {
 
         try {
             return courseService.getCourseById(courseId)
                     .map(course -> {
-                        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByCourse(course);
-
-                        for (Enrollment enrollment : enrollments) {
-                            notificationService.createNotification(
-                                    enrollment.getStudent(),
-                                    message,
-                                    type,
-                                    course);
-                        }
-
-                        return ResponseEntity
-                                .ok(Map.of("message", "Notifications sent to " + enrollments.size() + " students"));
+                        notificationDispatcher.dispatch(course.getId(), type, message, recipients);
+                        return ResponseEntity.accepted()
+                                .body(Map.of("message", "Notifications queued for delivery"));
                     })
                     .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Failed to send notifications: " + e.getMessage()));
         }
     }
 
-    @GetMapping("/api/grades/search")
+    // Paginated grade search; sort accepts the keys of GRADE_SORT_PROPERTIES only
+    @GetMapping("/api/grades/page")
     @ResponseBody
-    public List<Map<String, Object>> searchGrades(
-            @RequestParam(required = false) String studentName,
+    public ResponseEntity<?> searchGradesPage(
             @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) String studentName,
+            @RequestParam(required = false) String assignmentType,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) Double maxScore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate gradedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate gradedTo,
+            @PageableDefault(size = 25, sort = "gradedDate", direction = Sort.Direction.DESC) Pageable pageable,
             Authentication authentication) {
 
-        User professor = (User) authentication.getPrincipal();
-        List<Course> professorCourses = courseService.getActiveCoursesByProfessor(professor);
-
-        List<Map<String, Object>> results = new ArrayList<>();
+        try {
+            User professor = (User) authentication.getPrincipal();
+            GradeSearchCriteria criteria = new GradeSearchCriteria(courseId, studentName, assignmentType,
+                    minScore, maxScore, gradedFrom, gradedTo);
+            Page<Grade> grades = gradeService.searchGrades(professor, criteria, toGradeSort(pageable));
 
-        for (Course course : professorCourses) {
-            if (courseId != null && !course.getId().equals(courseId)) {
-                continue;
-            }
+            List<Map<String, Object>> content = grades.getContent().stream()
+                    .map(grade -> {
+                        Enrollment enrollment = grade.getEnrollment();
+                        Map<String, Object> gradeInfo = new HashMap<>();
+                        gradeInfo.put("id", grade.getId());
+                        gradeInfo.put("enrollmentId", enrollment.getId());
+                        gradeInfo.put("studentId", enrollment.getStudent().getId());
+                        gradeInfo.put("studentName", enrollment.getStudent().getFullName());
+                        gradeInfo.put("courseId", enrollment.getCourse().getId());
+                        gradeInfo.put("course", enrollment.getCourse().getTitle());
+                        gradeInfo.put("courseCode", enrollment.getCourse().getCourseCode());
+                        gradeInfo.put("assignmentName", grade.getAssignmentName());
+                        gradeInfo.put("assignmentType", grade.getAssignmentType());
+                        gradeInfo.put("score", grade.getScore());
+                        gradeInfo.put("letterGrade", grade.getLetterGrade());
+                        gradeInfo.put("gradedDate", grade.getGradedDate());
+                        gradeInfo.put("comments", grade.getComments());
+                        return gradeInfo;
+                    })
+                    .collect(Collectors.toList());
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("content", content);
+            result.put("page", grades.getNumber());
+            result.put("size", grades.getSize());
+            result.put("totalElements", grades.getTotalElements());
+            result.put("totalPages", grades.getTotalPages());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to search grades: " + e.getMessage()));
+        }
+    }
 
-            List<Enrollment> enrollments = enrollmentService.getEnrollmentsByCourse(course);
-
-            for (Enrollment enrollment : enrollments) {
-                if (studentName != null && !enrollment.getStudent().getFullName().toLowerCase()
-                        .contains(studentName.toLowerCase())) {
-                    continue;
-                }
-
-                Map<String, Object> studentGrade = new HashMap<>();
-                studentGrade.put("studentId", enrollment.getStudent().getId());
-                studentGrade.put("studentName", enrollment.getStudent().getFullName());
-                studentGrade.put("course", course.getTitle());
-                studentGrade.put("courseCode", course.getCourseCode());
-                studentGrade.put("currentGrade", gradeService.calculateAverageGrade(enrollment));
-                studentGrade.put("enrollmentId", enrollment.getId());
-
-                // Get individual grades
-                List<Grade> grades = gradeService.getGradesByEnrollment(enrollment);
-                studentGrade.put("grades", grades.stream().map(grade -> {
-                    Map<String, Object> gradeInfo = new HashMap<>();
-                    gradeInfo.put("id", grade.getId());
-                    gradeInfo.put("assignmentName", grade.getAssignmentName());
-                    gradeInfo.put("assignmentType", grade.getAssignmentType());
-                    gradeInfo.put("score", grade.getScore());
-                    gradeInfo.put("gradedDate", grade.getGradedDate());
-                    gradeInfo.put("comments", grade.getComments());
-                    return gradeInfo;
-                }).collect(Collectors.toList()));
-
-                results.add(studentGrade);
+    // Maps the client's sort keys onto Grade property paths; anything else is rejected rather than
+    // handed to the query, so no other path (e.g. a student's password) can be sorted on
+    private static Pageable toGradeSort(Pageable pageable) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            String property = GRADE_SORT_PROPERTIES.get(order.getProperty());
+            if (property == null) {
+                throw new IllegalArgumentException("Invalid sort property: " + order.getProperty());
             }
+            orders.add(order.withProperty(property));
         }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders));
+    }
 
-        return results;
+    // One row per enrollment, one column per assignment; streamed, so large sections are fine
+    @GetMapping("/api/courses/{courseId}/gradebook.xlsx")
+    public ResponseEntity<StreamingResponseBody> exportGradebook(@PathVariable Long courseId,
+            Authentication authentication) {
+        User professor = (User) authentication.getPrincipal();
+
+        return courseService.getCourseByIdAndProfessor(courseId, professor)
+                .map(course -> ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                "attachment; filename=\"gradebook_" + course.getCourseCode() + ".xlsx\"")
+                        .contentType(MediaType.parseMediaType(
+                                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                        .body((StreamingResponseBody) out -> gradeWorkbookExporter.writeCourseGradebook(course, out)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/api/courses/{courseId}/gradebook.csv")
+    public ResponseEntity<StreamingResponseBody> exportGradebookCsv(@PathVariable Long courseId,
+            Authentication authentication) {
+        User professor = (User) authentication.getPrincipal();
+
+        return courseService.getCourseByIdAndProfessor(courseId, professor)
+                .map(course -> ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                "attachment; filename=\"gradebook_" + course.getCourseCode() + ".csv\"")
+                        .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                        .body((StreamingResponseBody) out -> gradeCsvExporter.writeCourseGradebook(course, out)))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/api/course-analytics/{courseId}")
@@ -324,37 +395,7 @@ public class ProfessorController {
 
             return courseService.getCourseById(courseId)
                     .filter(course -> course.getProfessor().getId().equals(professor.getId()))
-                    .map(course -> {
-                        Map<String, Object> analytics = new HashMap<>();
-
-                        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByCourse(course);
-                        analytics.put("totalStudents", enrollments.size());
-
-                        // Calculate average grade for course
-                        Double courseAverage = gradeService.calculateAverageGradeForCourse(courseId);
-                        analytics.put("courseAverage", courseAverage);
-
-                        // Grade distribution
-                        Map<String, Integer> gradeDistribution = new HashMap<>();
-                        gradeDistribution.put("A", 0);
-                        gradeDistribution.put("B+", 0);
-                        gradeDistribution.put("B", 0);
-                        gradeDistribution.put("C+", 0);
-                        gradeDistribution.put("C", 0);
-                        gradeDistribution.put("D", 0);
-                        gradeDistribution.put("F", 0);
-
-                        for (Enrollment enrollment : enrollments) {
-                            Double avgGrade = gradeService.calculateAverageGrade(enrollment);
-                            if (avgGrade != null) {
-                                String letterGrade = gradeService.convertToLetterGrade(avgGrade);
-                                gradeDistribution.put(letterGrade, gradeDistribution.get(letterGrade) + 1);
-                            }
-                        }
-                        analytics.put("gradeDistribution", gradeDistribution);
-
-                        return ResponseEntity.ok(analytics);
-                    })
+                    .map(course -> ResponseEntity.ok(courseAnalyticsService.getAnalytics(course)))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Failed to get analytics: " + e.getMessage()));
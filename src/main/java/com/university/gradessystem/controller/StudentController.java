@@ -1,19 +1,37 @@
 package com.university.gradessystem.controller;
 
+import com.university.gradessystem.dto.EnrollmentSummary;
+import com.university.gradessystem.dto.StudentGpa;
+import com.university.gradessystem.dto.UserSummary;
 import com.university.gradessystem.model.*;
+import com.university.gradessystem.report.GradeCsvExporter;
+import com.university.gradessystem.report.GradeWorkbookExporter;
+import com.university.gradessystem.report.TranscriptPdfRenderer;
 import com.university.gradessystem.service.*;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Controller
@@ -23,68 +41,59 @@ public class StudentController {
     private final UserService userService;
     private final CourseService courseService;
     private final EnrollmentService enrollmentService;
+    private final EnrollmentAdmissionQueue enrollmentAdmissionQueue;
     private final GradeService gradeService;
+    private final StudentSummaryService studentSummaryService;
     private final NotificationService notificationService;
+    private final NotificationPushService notificationPushService;
+    private final TranscriptPdfRenderer transcriptPdfRenderer;
+    private final GradeWorkbookExporter gradeWorkbookExporter;
+    private final GradeCsvExporter gradeCsvExporter;
 
     public StudentController(UserService userService, CourseService courseService,
-            EnrollmentService enrollmentService, GradeService gradeService,
-            NotificationService notificationService) {
+            EnrollmentService enrollmentService, EnrollmentAdmissionQueue enrollmentAdmissionQueue,
+            GradeService gradeService, StudentSummaryService studentSummaryService,
+            NotificationService notificationService, NotificationPushService notificationPushService, TranscriptPdfRenderer transcriptPdfRenderer,
+            GradeWorkbookExporter gradeWorkbookExporter, GradeCsvExporter gradeCsvExporter) {
         this.userService = userService;
         this.courseService = courseService;
         this.enrollmentService = enrollmentService;
+        this.enrollmentAdmissionQueue = enrollmentAdmissionQueue;
         this.gradeService = gradeService;
+        this.studentSummaryService = studentSummaryService;
         this.notificationService = notificationService;
+        this.notificationPushService = notificationPushService;
+        this.transcriptPdfRenderer = transcriptPdfRenderer;
+        this.gradeWorkbookExporter = gradeWorkbookExporter;
+        this.gradeCsvExporter = gradeCsvExporter;
     }
 
     @GetMapping
     public String studentDashboard(Authentication authentication, Model model) {
         User student = (User) authentication.getPrincipal();
 
-        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(student);
-        long enrolledCourses = enrollments.stream()
-                .filter(e -> e.getStatus() == Enrollment.EnrollmentStatus.ENROLLED)
-                .count();
-
-        Double gpa = gradeService.calculateGPA(student);
-
-        // Calculate average grade
-        double totalGrade = 0;
-        int gradeCount = 0;
-        for (Enrollment enrollment : enrollments) {
-            Double avgGrade = gradeService.calculateAverageGrade(enrollment);
-            if (avgGrade != null) {
-                totalGrade += avgGrade;
-                gradeCount++;
-            }
-        }
-        double averageGrade = gradeCount > 0 ? totalGrade / gradeCount : 0;
+        StudentAcademicSummary summary = studentSummaryService.getSummary(student.getId());
 
-        model.addAttribute("enrolledCourses", enrolledCourses);
-        model.addAttribute("currentGpa", String.format("%.2f", gpa));
-        model.addAttribute("averageGrade", String.format("%.1f%%", averageGrade));
+        model.addAttribute("enrolledCourses", summary.getEnrolledCourses());
+        model.addAttribute("currentGpa", String.format("%.2f", summary.getGpa()));
+        model.addAttribute("averageGrade", String.format("%.1f%%", summary.getAverageGrade()));
 
         // Recent grades
-        List<Grade> recentGrades = gradeService.getRecentGradesByStudentId(student.getId());
-        model.addAttribute("recentGrades", recentGrades.stream().limit(5).collect(Collectors.toList()));
+        model.addAttribute("recentGrades", gradeService.getRecentGradesByStudentId(student.getId(), 5));
 
         // Add enrolled courses for dashboard display
-        List<Map<String, Object>> enrolledCoursesList = enrollments.stream()
+        List<Map<String, Object>> enrolledCoursesList = summary.getCourses().stream()
                 .filter(e -> e.getStatus() == Enrollment.EnrollmentStatus.ENROLLED)
                 .map(enrollment -> {
                     Map<String, Object> courseInfo = new HashMap<>();
-                    courseInfo.put("id", enrollment.getId());
-                    courseInfo.put("courseCode", enrollment.getCourse().getCourseCode());
-                    courseInfo.put("title", enrollment.getCourse().getTitle());
+                    courseInfo.put("id", enrollment.getEnrollmentId());
+                    courseInfo.put("courseCode", enrollment.getCourseCode());
+                    courseInfo.put("title", enrollment.getCourseTitle());
                     courseInfo.put("professor",
-                            enrollment.getCourse().getProfessor() != null
-                                    ? enrollment.getCourse().getProfessor().getFullName()
-                                    : "Not Assigned");
-                    courseInfo.put("credits", enrollment.getCourse().getCredits());
-
-                    // Calculate grade
-                    Double avgGrade = gradeService.calculateAverageGrade(enrollment);
-                    courseInfo.put("grade", avgGrade);
-                    courseInfo.put("letterGrade", gradeService.convertToLetterGrade(avgGrade));
+                            enrollment.getProfessorName() != null ? enrollment.getProfessorName() : "Not Assigned");
+                    courseInfo.put("credits", enrollment.getCredits());
+                    courseInfo.put("grade", enrollment.getCurrentGrade());
+                    courseInfo.put("letterGrade", enrollment.getLetterGrade());
 
                     return courseInfo;
                 })
@@ -100,12 +109,9 @@ public class StudentController {
     public List<Map<String, Object>> getAllCourses(Authentication authentication) {
         User student = (User) authentication.getPrincipal();
         List<Course> allCourses = courseService.getAllCourses();
-        List<Enrollment> studentEnrollments = enrollmentService.getEnrollmentsByStudent(student);
 
         // Get course IDs student is already enrolled in
-        List<Long> enrolledCourseIds = studentEnrollments.stream()
-                .map(e -> e.getCourse().getId())
-                .collect(Collectors.toList());
+        Set<Long> enrolledCourseIds = new HashSet<>(enrollmentService.getEnrolledCourseIds(student));
 
         return allCourses.stream()
                 .map(course -> {
@@ -119,7 +125,7 @@ public class StudentController {
                     courseInfo.put("professor",
                             course.getProfessor() != null ? course.getProfessor().getFullName() : "Not Assigned");
                     courseInfo.put("capacity", course.getCapacity());
-                    courseInfo.put("enrolled", courseService.countEnrolledStudents(course));
+                    courseInfo.put("enrolled", course.getEnrolledCount());
                     courseInfo.put("semester", course.getSemester());
                     courseInfo.put("academicYear", course.getAcademicYear());
                     courseInfo.put("isEnrolled", enrolledCourseIds.contains(course.getId()));
@@ -134,12 +140,9 @@ public class StudentController {
     public List<Map<String, Object>> getAvailableCourses(Authentication authentication) {
         User student = (User) authentication.getPrincipal();
         List<Course> allCourses = courseService.getActiveCourses();
-        List<Enrollment> studentEnrollments = enrollmentService.getEnrollmentsByStudent(student);
 
         // Get course IDs student is already enrolled in
-        List<Long> enrolledCourseIds = studentEnrollments.stream()
-                .map(e -> e.getCourse().getId())
-                .collect(Collectors.toList());
+        Set<Long> enrolledCourseIds = new HashSet<>(enrollmentService.getEnrolledCourseIds(student));
 
         return allCourses.stream()
                 .filter(course -> !enrolledCourseIds.contains(course.getId()))
@@ -154,7 +157,7 @@ public class StudentController {
                     courseInfo.put("professor",
                             course.getProfessor() != null ? course.getProfessor().getFullName() : "Not Assigned");
                     courseInfo.put("capacity", course.getCapacity());
-                    courseInfo.put("enrolled", courseService.countEnrolledStudents(course));
+                    courseInfo.put("enrolled", course.getEnrolledCount());
                     courseInfo.put("semester", course.getSemester());
                     courseInfo.put("academicYear", course.getAcademicYear());
                     courseInfo.put("isEnrolled", false);
@@ -163,56 +166,59 @@ public class StudentController {
                 .collect(Collectors.toList());
     }
 
+    // Goes through the admission queue; the request thread is released while the enrollment waits
     @PostMapping("/api/courses/{courseId}/enroll")
     @ResponseBody
-    public ResponseEntity<?> enrollInCourse(@PathVariable Long courseId, Authentication authentication) {
-        try {
-            User student = (User) authentication.getPrincipal();
+    public CompletableFuture<ResponseEntity<?>> enrollInCourse(@PathVariable Long courseId,
+            Authentication authentication) {
+        User student = (User) authentication.getPrincipal();
 
-            Enrollment enrollment = enrollmentService.enrollStudent(student.getId(), courseId);
-            return ResponseEntity.ok(Map.of(
-                    "message", "Successfully enrolled in course",
-                    "enrollment", enrollment));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Failed to enroll: " + e.getMessage()));
-        }
+        return enrollmentAdmissionQueue.submit(student.getId(), courseId)
+                .<ResponseEntity<?>>thenApply(enrollment -> ResponseEntity.ok(Map.of(
+                        "message", enrollment.getStatus() == Enrollment.EnrollmentStatus.WAITLISTED
+                                ? "Course is full - you have been added to the waitlist"
+                                : "Successfully enrolled in course",
+                        "enrollment", EnrollmentSummary.from(enrollment))))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof IllegalArgumentException) {
+                        return ResponseEntity.badRequest().body(Map.of("error", cause.getMessage()));
+                    }
+                    if (cause instanceof RejectedExecutionException) {
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "5")
+                                .body(Map.of("error", cause.getMessage()));
+                    }
+                    if (cause instanceof TimeoutException) {
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error",
+                                "Enrollment is still being processed - check your enrollments before trying again"));
+                    }
+                    return ResponseEntity.badRequest().body(Map.of("error", "Failed to enroll: " + cause.getMessage()));
+                });
     }
 
     @GetMapping("/api/enrollments")
     @ResponseBody
     public List<Map<String, Object>> getStudentEnrollments(Authentication authentication) {
         User student = (User) authentication.getPrincipal();
-        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(student);
+        StudentAcademicSummary summary = studentSummaryService.getSummary(student.getId());
 
-        return enrollments.stream()
+        return summary.getCourses().stream()
                 .map(enrollment -> {
                     Map<String, Object> enrollmentInfo = new HashMap<>();
-                    enrollmentInfo.put("id", enrollment.getId());
-                    enrollmentInfo.put("course", enrollment.getCourse().getTitle());
-                    enrollmentInfo.put("courseCode", enrollment.getCourse().getCourseCode());
-                    enrollmentInfo.put("credits", enrollment.getCourse().getCredits());
+                    enrollmentInfo.put("id", enrollment.getEnrollmentId());
+                    enrollmentInfo.put("course", enrollment.getCourseTitle());
+                    enrollmentInfo.put("courseCode", enrollment.getCourseCode());
+                    enrollmentInfo.put("credits", enrollment.getCredits());
                     enrollmentInfo.put("status", enrollment.getStatus());
                     enrollmentInfo.put("enrollmentDate", enrollment.getEnrollmentDate());
                     enrollmentInfo.put("professor",
-                            enrollment.getCourse().getProfessor() != null
-                                    ? enrollment.getCourse().getProfessor().getFullName()
-                                    : "Not Assigned");
-                    enrollmentInfo.put("department", enrollment.getCourse().getDepartment());
-                    enrollmentInfo.put("semester", enrollment.getCourse().getSemester());
-
-                    // Calculate grade
-                    Double avgGrade = gradeService.calculateAverageGrade(enrollment);
-                    enrollmentInfo.put("grade", avgGrade);
-
-                    // Convert to letter grade
-                    String letterGrade = gradeService.convertToLetterGrade(avgGrade);
-                    enrollmentInfo.put("letterGrade", letterGrade);
-
-                    // Get grade count
-                    List<Grade> grades = gradeService.getGradesByEnrollment(enrollment);
-                    enrollmentInfo.put("gradeCount", grades.size());
+                            enrollment.getProfessorName() != null ? enrollment.getProfessorName() : "Not Assigned");
+                    enrollmentInfo.put("department", enrollment.getDepartment());
+                    enrollmentInfo.put("semester", enrollment.getSemester());
+                    enrollmentInfo.put("grade", enrollment.getCurrentGrade());
+                    enrollmentInfo.put("letterGrade", enrollment.getLetterGrade());
+                    enrollmentInfo.put("gradeCount", enrollment.getGradeCount());
 
                     return enrollmentInfo;
                 })
@@ -254,107 +260,166 @@ public class StudentController {
     @ResponseBody
     public Map<String, Object> getStudentGPA(Authentication authentication) {
         User student = (User) authentication.getPrincipal();
-        Double gpa = gradeService.calculateGPA(student);
+        StudentAcademicSummary summary = studentSummaryService.getSummary(student.getId());
 
         Map<String, Object> result = new HashMap<>();
-        result.put("gpa", gpa);
+        result.put("gpa", summary.getGpa());
         result.put("studentName", student.getFullName());
+        result.put("creditsAttempted", summary.getCreditsAttempted());
+        result.put("creditsEarned", summary.getCreditsEarned());
+        result.put("breakdown", buildGpaBreakdown(summary));
+        return result;
+    }
 
-        // Get semester breakdown
-        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(student);
-        List<Map<String, Object>> breakdown = new ArrayList<>();
-
-        for (Enrollment enrollment : enrollments) {
-            Map<String, Object> courseGrade = new HashMap<>();
-            courseGrade.put("course", enrollment.getCourse().getTitle());
-            courseGrade.put("courseCode", enrollment.getCourse().getCourseCode());
-            courseGrade.put("credits", enrollment.getCourse().getCredits());
-
-            Double avgGrade = gradeService.calculateAverageGrade(enrollment);
-            courseGrade.put("average", avgGrade);
-            courseGrade.put("letterGrade", gradeService.convertToLetterGrade(avgGrade));
-
-            breakdown.add(courseGrade);
+    // Newest first, one keyset page at a time; pass nextCursor back to get the following page
+    @GetMapping("/api/notifications")
+    @ResponseBody
+    public ResponseEntity<?> getNotifications(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size, Authentication authentication) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().body(Map.of("error", "size must be between 1 and 100"));
+        }
+        try {
+            User student = (User) authentication.getPrincipal();
+            return ResponseEntity.ok(notificationService.getFeed(student, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
+    }
 
-        result.put("breakdown", breakdown);
-        return result;
+    @GetMapping("/api/notifications/unread-count")
+    @ResponseBody
+    public Map<String, Object> getUnreadNotificationCount(Authentication authentication) {
+        User student = (User) authentication.getPrincipal();
+        return Map.of("unreadCount", notificationService.countUnreadNotifications(student));
     }
 
-    @GetMapping("/api/notifications")
+    // New notifications as Server-Sent Events; the browser resends Last-Event-ID on reconnect
+    @GetMapping(path = "/api/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     @ResponseBody
-    public List<Map<String, Object>> getNotifications(Authentication authentication) {
+    public SseEmitter streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            Authentication authentication) {
         User student = (User) authentication.getPrincipal();
-        List<Notification> notifications = notificationService.getNotificationsForUser(student);
-
-        return notifications.stream()
-                .map(notification -> {
-                    Map<String, Object> notificationInfo = new HashMap<>();
-                    notificationInfo.put("id", notification.getId());
-                    notificationInfo.put("message", notification.getMessage());
-                    notificationInfo.put("type", notification.getType());
-                    notificationInfo.put("createdAt", notification.getCreatedAt());
-                    notificationInfo.put("read", notification.isRead());
-                    notificationInfo.put("course",
-                            notification.getCourse() != null ? notification.getCourse().getTitle() : null);
-                    return notificationInfo;
-                })
-                .collect(Collectors.toList());
+        return notificationPushService.subscribe(student, lastEventId);
+    }
+
+    // The client of a streaming response (notification stream, export download) went away and the
+    // container reports the broken connection. The response is already committed, so nothing is
+    // written and no view is resolved. Failures before anything was sent get the default handling.
+    @ExceptionHandler(IOException.class)
+    @ResponseBody
+    public void handleClientDisconnect(IOException e, HttpServletResponse response) throws IOException {
+        if (!response.isCommitted()) {
+            throw e;
+        }
     }
 
     @PutMapping("/api/notifications/{id}/read")
     @ResponseBody
-    public ResponseEntity<?> markNotificationAsRead(@PathVariable Long id) {
+    public ResponseEntity<?> markNotificationAsRead(@PathVariable Long id, Authentication authentication) {
         try {
-            notificationService.markAsRead(id);
+            User student = (User) authentication.getPrincipal();
+            if (!notificationService.markAsRead(id, student)) {
+                return ResponseEntity.notFound().build();
+            }
             return ResponseEntity.ok(Map.of("message", "Notification marked as read"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Failed to mark notification as read"));
         }
     }
 
-    @GetMapping("/api/export/{format}")
-    public ResponseEntity<byte[]> exportGrades(
-            @PathVariable String format,
-            Authentication authentication) {
-
-        User student = (User) authentication.getPrincipal();
+    @PutMapping("/api/notifications/read")
+    @ResponseBody
+    public ResponseEntity<?> markAllNotificationsAsRead(Authentication authentication) {
+        try {
+            User student = (User) authentication.getPrincipal();
+            int updated = notificationService.markAllAsRead(student);
+            return ResponseEntity.ok(Map.of("message", "Notifications marked as read", "updated", updated));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to mark notifications as read"));
+        }
+    }
 
+    @PutMapping("/api/notifications/courses/{courseId}/read")
+    @ResponseBody
+    public ResponseEntity<?> markCourseNotificationsAsRead(@PathVariable Long courseId,
+            Authentication authentication) {
         try {
-            byte[] data;
-            String filename;
-            String contentType;
-
-            switch (format.toLowerCase()) {
-                case "pdf":
-                    data = generatePDFTranscript(student);
-                    filename = "transcript_" + student.getUsername() + ".pdf";
-                    contentType = "application/pdf";
-                    break;
-                case "excel":
-                    data = generateExcelReport(student);
-                    filename = "grades_" + student.getUsername() + ".xlsx";
-                    contentType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-                    break;
-                case "csv":
-                    data = generateCSVReport(student);
-                    filename = "grades_" + student.getUsername() + ".csv";
-                    contentType = "text/csv";
-                    break;
-                default:
-                    return ResponseEntity.badRequest().build();
-            }
+            User student = (User) authentication.getPrincipal();
+            int updated = notificationService.markCourseAsRead(student, courseId);
+            return ResponseEntity.ok(Map.of("message", "Notifications marked as read", "updated", updated));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to mark notifications as read"));
+        }
+    }
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(data);
+    @DeleteMapping("/api/notifications/read")
+    @ResponseBody
+    public ResponseEntity<?> deleteReadNotifications(Authentication authentication) {
+        try {
+            User student = (User) authentication.getPrincipal();
+            int deleted = notificationService.deleteReadNotifications(student);
+            return ResponseEntity.ok(Map.of("message", "Read notifications deleted", "deleted", deleted));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to delete notifications"));
+        }
+    }
 
+    @DeleteMapping("/api/notifications")
+    @ResponseBody
+    public ResponseEntity<?> deleteOldNotifications(@RequestParam int olderThanDays, Authentication authentication) {
+        if (olderThanDays < 0) {
+            return ResponseEntity.badRequest().body(Map.of("error", "olderThanDays must not be negative"));
+        }
+        try {
+            User student = (User) authentication.getPrincipal();
+            int deleted = notificationService.deleteNotificationsOlderThan(student,
+                    LocalDateTime.now().minusDays(olderThanDays));
+            return ResponseEntity.ok(Map.of("message", "Old notifications deleted", "deleted", deleted));
         } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to delete notifications"));
         }
     }
 
+    // The transcript is written to the response as it is rendered rather than buffered first
+    @GetMapping("/api/export/pdf")
+    public ResponseEntity<StreamingResponseBody> exportTranscriptPdf(Authentication authentication) {
+        User student = (User) authentication.getPrincipal();
+        StudentGpa studentGpa = studentSummaryService.getStudentGpa(student.getId());
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transcript_" + student.getUsername() + ".pdf\"")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(out -> transcriptPdfRenderer.render(UserSummary.from(student), studentGpa, out));
+    }
+
+    @GetMapping("/api/export/excel")
+    public ResponseEntity<StreamingResponseBody> exportGradesExcel(Authentication authentication) {
+        User student = (User) authentication.getPrincipal();
+        StudentGpa studentGpa = studentSummaryService.getStudentGpa(student.getId());
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"grades_" + student.getUsername() + ".xlsx\"")
+                .contentType(MediaType.parseMediaType(
+                        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .body(out -> gradeWorkbookExporter.writeStudentReport(studentGpa, out));
+    }
+
+    @GetMapping("/api/export/csv")
+    public ResponseEntity<StreamingResponseBody> exportGradesCsv(Authentication authentication) {
+        User student = (User) authentication.getPrincipal();
+        StudentGpa studentGpa = studentSummaryService.getStudentGpa(student.getId());
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"grades_" + student.getUsername() + ".csv\"")
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .body(out -> gradeCsvExporter.writeStudentReport(studentGpa, out));
+    }
+
     @DeleteMapping("/api/enrollments/{enrollmentId}")
     @ResponseBody
     public ResponseEntity<?> dropCourse(@PathVariable Long enrollmentId, Authentication authentication) {
@@ -398,53 +463,19 @@ public class StudentController {
     }
 
     // Helper methods
-    private byte[] generatePDFTranscript(User student) {
-        // Simplified PDF generation - in a real app, use iText or similar
-        StringBuilder content = new StringBuilder();
-        content.append("OFFICIAL TRANSCRIPT\n\n");
-        content.append("Student: ").append(student.getFullName()).append("\n");
-        content.append("Student ID: ").append(student.getId()).append("\n");
-        content.append("Email: ").append(student.getEmail()).append("\n\n");
-
-        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(student);
-        for (Enrollment enrollment : enrollments) {
-            content.append(enrollment.getCourse().getCourseCode()).append(" - ")
-                    .append(enrollment.getCourse().getTitle()).append("\n");
-            content.append("Credits: ").append(enrollment.getCourse().getCredits()).append("\n");
-            Double avgGrade = gradeService.calculateAverageGrade(enrollment);
-            content.append("Grade: ").append(avgGrade != null ? String.format("%.1f", avgGrade) : "N/A")
-                    .append(" (").append(gradeService.convertToLetterGrade(avgGrade)).append(")\n\n");
-        }
-
-        Double gpa = gradeService.calculateGPA(student);
-        content.append("Overall GPA: ").append(String.format("%.2f", gpa));
-
-        return content.toString().getBytes();
-    }
-
-    private byte[] generateExcelReport(User student) {
-        // Simplified Excel generation - in a real app, use Apache POI
-        StringBuilder csv = new StringBuilder();
-        csv.append("Course Code,Course Title,Credits,Grade,Letter Grade,Professor\n");
+    private List<Map<String, Object>> buildGpaBreakdown(StudentAcademicSummary summary) {
+        List<Map<String, Object>> breakdown = new ArrayList<>();
 
-        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(student);
-        for (Enrollment enrollment : enrollments) {
-            Double avgGrade = gradeService.calculateAverageGrade(enrollment);
-            csv.append(enrollment.getCourse().getCourseCode()).append(",")
-                    .append(enrollment.getCourse().getTitle()).append(",")
-                    .append(enrollment.getCourse().getCredits()).append(",")
-                    .append(avgGrade != null ? String.format("%.1f", avgGrade) : "N/A").append(",")
-                    .append(gradeService.convertToLetterGrade(avgGrade)).append(",")
-                    .append(enrollment.getCourse().getProfessor() != null
-                            ? enrollment.getCourse().getProfessor().getFullName()
-                            : "Not Assigned")
-                    .append("\n");
+        for (StudentCourseResult enrollment : summary.getCourses()) {
+            Map<String, Object> courseGrade = new HashMap<>();
+            courseGrade.put("course", enrollment.getCourseTitle());
+            courseGrade.put("courseCode", enrollment.getCourseCode());
+            courseGrade.put("credits", enrollment.getCredits());
+            courseGrade.put("average", enrollment.getCurrentGrade());
+            courseGrade.put("letterGrade", enrollment.getLetterGrade());
+            breakdown.add(courseGrade);
         }
 
-        return csv.toString().getBytes();
-    }
-
-    private byte[] generateCSVReport(User student) {
-        return generateExcelReport(student); // Same format for simplicity
+        return breakdown;
     }
 }
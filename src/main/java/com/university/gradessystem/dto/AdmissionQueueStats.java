@@ -0,0 +1,19 @@
+package com.university.gradessystem.dto;
+
+import java.util.Map;
+
+public record AdmissionQueueStats(
+        int workers,
+        int batchSize,
+        long pending,
+        Map<Long, Integer> pendingByCourse,
+        long submitted,
+        long completed,
+        long failed,
+        long rejected,
+        long timedOut,
+        long batches,
+        double averageBatchSize,
+        double averageWaitMillis,
+        long maxWaitMillis) {
+}
@@ -0,0 +1,6 @@
+package com.university.gradessystem.dto;
+
+public record AssignmentStatistics(
+        String assignmentName,
+        ScoreStatistics scores) {
+}
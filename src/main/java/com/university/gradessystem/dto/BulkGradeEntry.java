@@ -0,0 +1,7 @@
+package com.university.gradessystem.dto;
+
+public record BulkGradeEntry(
+        Long enrollmentId,
+        Double score,
+        String comments) {
+}
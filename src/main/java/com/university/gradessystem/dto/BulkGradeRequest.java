@@ -0,0 +1,11 @@
+package com.university.gradessystem.dto;
+
+import java.util.List;
+
+// One assignment graded for many enrollments in a single request
+public record BulkGradeRequest(
+        String assignmentName,
+        String assignmentType,
+        Double weightPercentage,
+        List<BulkGradeEntry> grades) {
+}
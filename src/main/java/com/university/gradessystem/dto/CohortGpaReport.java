@@ -0,0 +1,12 @@
+package com.university.gradessystem.dto;
+
+import java.util.List;
+
+public record CohortGpaReport(
+        List<CohortStudentGpa> students,
+        long enrollmentRows,
+        long scanMillis,
+        long reduceMillis,
+        double rowsPerSecond,
+        int parallelism) {
+}
@@ -0,0 +1,11 @@
+package com.university.gradessystem.dto;
+
+// One graded enrollment in a cohort scan with its current weighted grade, ordered by student
+public record CohortGradeRow(
+        Long studentId,
+        String studentName,
+        Long enrollmentId,
+        Integer credits,
+        Long gradePolicyId,
+        Double score) {
+}
@@ -0,0 +1,8 @@
+package com.university.gradessystem.dto;
+
+public record CohortStudentGpa(
+        Long studentId,
+        String studentName,
+        double gpa,
+        int totalCredits) {
+}
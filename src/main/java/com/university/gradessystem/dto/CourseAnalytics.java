@@ -0,0 +1,18 @@
+package com.university.gradessystem.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Course dashboard statistics. studentGrades covers each graded enrollment's current weighted
+// grade; assignments covers the raw scores of each assignment, in the order they were first graded.
+public record CourseAnalytics(
+        Long courseId,
+        int totalStudents,
+        int gradedStudents,
+        Double courseAverage,
+        ScoreStatistics studentGrades,
+        Map<String, Integer> gradeDistribution,
+        List<AssignmentStatistics> assignments,
+        LocalDateTime computedAt) {
+}
@@ -0,0 +1,11 @@
+package com.university.gradessystem.dto;
+
+import java.util.Map;
+
+// Admin course report built from one grouped count query; departments are sorted by name
+public record CourseCountReport(
+        long totalCourses,
+        long activeCourses,
+        Map<String, Long> coursesByDepartment,
+        Map<String, Long> activeCoursesByDepartment) {
+}
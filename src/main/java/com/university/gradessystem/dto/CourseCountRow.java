@@ -0,0 +1,7 @@
+package com.university.gradessystem.dto;
+
+public record CourseCountRow(
+        String department,
+        boolean active,
+        Long courses) {
+}
@@ -0,0 +1,17 @@
+package com.university.gradessystem.dto;
+
+import com.university.gradessystem.model.Enrollment;
+
+// One enrollment's status and running grade totals, read when a course's report stats are refreshed
+public record CourseEnrollmentGrade(
+        Long courseId,
+        Long gradePolicyId,
+        Enrollment.EnrollmentStatus status,
+        double weightedScoreSum,
+        double weightSum) {
+
+    // Same rule as Enrollment.getCurrentGrade
+    public Double currentGrade() {
+        return weightSum > 0.000001 ? weightedScoreSum / weightSum : null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.university.gradessystem.dto;
+
+// Admin list view of a course without its enrollments or grade policy
+public record CourseSummary(
+        Long id,
+        String courseCode,
+        String title,
+        String description,
+        Integer credits,
+        String department,
+        Long professorId,
+        String professorName,
+        Integer capacity,
+        boolean active,
+        String semester,
+        String academicYear) {
+}
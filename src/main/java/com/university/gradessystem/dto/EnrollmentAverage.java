@@ -0,0 +1,22 @@
+package com.university.gradessystem.dto;
+
+import com.university.gradessystem.model.Enrollment;
+
+import java.time.LocalDateTime;
+
+// One row of a student's transcript: the enrollment, its course and the average of its grades
+public record EnrollmentAverage(
+        Long enrollmentId,
+        Long courseId,
+        Long gradePolicyId,
+        String courseCode,
+        String courseTitle,
+        Integer credits,
+        String professorName,
+        String department,
+        String semester,
+        Enrollment.EnrollmentStatus status,
+        LocalDateTime enrollmentDate,
+        Double average,
+        long gradeCount) {
+}
@@ -0,0 +1,7 @@
+package com.university.gradessystem.dto;
+
+public record EnrollmentGradeStats(
+        Long enrollmentId,
+        Double average,
+        Long gradeCount) {
+}
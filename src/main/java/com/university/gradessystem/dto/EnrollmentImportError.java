@@ -0,0 +1,6 @@
+package com.university.gradessystem.dto;
+
+public record EnrollmentImportError(
+        int rowNumber,
+        String message) {
+}
@@ -0,0 +1,14 @@
+package com.university.gradessystem.dto;
+
+import java.util.List;
+
+// errors holds at most the first reported failures; failed is the full count
+public record EnrollmentImportResult(
+        int rowsRead,
+        int enrolled,
+        int waitlisted,
+        int failed,
+        List<EnrollmentImportError> errors,
+        long elapsedMillis,
+        double rowsPerSecond) {
+}
@@ -0,0 +1,8 @@
+package com.university.gradessystem.dto;
+
+// One parsed import row; rowNumber is the CSV line or the 1-based position in the JSON array
+public record EnrollmentImportRow(
+        int rowNumber,
+        String studentUsername,
+        String courseCode) {
+}
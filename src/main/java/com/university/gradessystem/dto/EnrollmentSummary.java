@@ -0,0 +1,20 @@
+package com.university.gradessystem.dto;
+
+import com.university.gradessystem.model.Enrollment;
+
+import java.time.LocalDateTime;
+
+public record EnrollmentSummary(
+        Long id,
+        String studentName,
+        String courseName,
+        String courseCode,
+        Enrollment.EnrollmentStatus status,
+        LocalDateTime enrollmentDate) {
+
+    public static EnrollmentSummary from(Enrollment enrollment) {
+        return new EnrollmentSummary(enrollment.getId(), enrollment.getStudent().getFullName(),
+                enrollment.getCourse().getTitle(), enrollment.getCourse().getCourseCode(),
+                enrollment.getStatus(), enrollment.getEnrollmentDate());
+    }
+}
@@ -0,0 +1,14 @@
+package com.university.gradessystem.dto;
+
+import java.time.LocalDate;
+
+// Optional filters for the paginated grade search; null fields are ignored
+public record GradeSearchCriteria(
+        Long courseId,
+        String studentNamePrefix,
+        String assignmentType,
+        Double minScore,
+        Double maxScore,
+        LocalDate gradedFrom,
+        LocalDate gradedTo) {
+}
@@ -0,0 +1,15 @@
+package com.university.gradessystem.dto;
+
+import com.university.gradessystem.model.Enrollment;
+
+// One grade of one enrollment in a course gradebook, with the enrollment's current weighted grade;
+// assignmentName and score are null for enrollments that have no grades yet
+public record GradebookCell(
+        Long enrollmentId,
+        String username,
+        String studentName,
+        Enrollment.EnrollmentStatus status,
+        Double currentGrade,
+        String assignmentName,
+        Double score) {
+}
@@ -0,0 +1,11 @@
+package com.university.gradessystem.dto;
+
+import java.time.LocalDateTime;
+
+// Notifications of one user and course that the retention job folds into a single digest
+public record NotificationDigestGroup(
+        Long userId,
+        Long courseId,
+        LocalDateTime latest,
+        Long unread) {
+}
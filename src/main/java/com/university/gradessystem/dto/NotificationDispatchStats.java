@@ -0,0 +1,15 @@
+package com.university.gradessystem.dto;
+
+public record NotificationDispatchStats(
+        int workers,
+        int pendingJobs,
+        long submitted,
+        long completed,
+        long failed,
+        long rejected,
+        long notificationsWritten,
+        double averageEnqueueMicros,
+        long maxEnqueueMicros,
+        double averageQueueWaitMillis,
+        double insertsPerSecond) {
+}
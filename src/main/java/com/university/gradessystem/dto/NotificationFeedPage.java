@@ -0,0 +1,10 @@
+package com.university.gradessystem.dto;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record NotificationFeedPage(
+        List<NotificationView> notifications,
+        String nextCursor,
+        long unreadCount) {
+}
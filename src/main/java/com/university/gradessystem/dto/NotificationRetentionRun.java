@@ -0,0 +1,13 @@
+package com.university.gradessystem.dto;
+
+import java.time.LocalDateTime;
+
+public record NotificationRetentionRun(
+        LocalDateTime startedAt,
+        long elapsedMillis,
+        long purged,
+        long compacted,
+        long digestsCreated,
+        long rowsBefore,
+        long rowsAfter) {
+}
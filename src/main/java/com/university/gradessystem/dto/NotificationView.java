@@ -0,0 +1,21 @@
+package com.university.gradessystem.dto;
+
+import com.university.gradessystem.model.Notification;
+
+import java.time.LocalDateTime;
+
+// A notification as the student dashboard sees it, both in the list and on the event stream
+public record NotificationView(
+        Long id,
+        String message,
+        String type,
+        LocalDateTime createdAt,
+        boolean read,
+        String course) {
+
+    public static NotificationView from(Notification notification) {
+        return new NotificationView(notification.getId(), notification.getMessage(), notification.getType(),
+                notification.getCreatedAt(), notification.isRead(),
+                notification.getCourse() != null ? notification.getCourse().getTitle() : null);
+    }
+}
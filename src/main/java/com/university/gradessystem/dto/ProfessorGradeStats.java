@@ -0,0 +1,8 @@
+package com.university.gradessystem.dto;
+
+// Totals across every active course a professor teaches
+public record ProfessorGradeStats(
+        Long totalStudents,
+        Long totalGrades,
+        Long scoredGrades) {
+}
@@ -0,0 +1,19 @@
+package com.university.gradessystem.dto;
+
+import java.util.Map;
+
+// Averages and rates are null when the group has no graded (or no) enrollments
+public record ReportRollup(
+        String key,
+        long courses,
+        long enrollments,
+        long enrolled,
+        long waitlisted,
+        long completed,
+        long dropped,
+        long graded,
+        Double averageGrade,
+        Double passRate,
+        Double dropRate,
+        Map<String, Long> gradeDistribution) {
+}
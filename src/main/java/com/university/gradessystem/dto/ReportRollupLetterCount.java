@@ -0,0 +1,7 @@
+package com.university.gradessystem.dto;
+
+public record ReportRollupLetterCount(
+        String key,
+        String letter,
+        Long students) {
+}
@@ -0,0 +1,16 @@
+package com.university.gradessystem.dto;
+
+// Summed course report stats of one rollup group: the grouping key and the name it is shown under
+public record ReportRollupTotals(
+        String key,
+        String label,
+        Long courses,
+        Long enrollments,
+        Long enrolled,
+        Long waitlisted,
+        Long completed,
+        Long dropped,
+        Long graded,
+        Long passed,
+        Double gradeSum) {
+}
@@ -0,0 +1,17 @@
+package com.university.gradessystem.dto;
+
+// Distribution of a set of percentage scores. Percentiles interpolate between the closest ranks;
+// histogram[i] counts scores in [10i, 10i + 10), with 100 and above in the last bucket.
+public record ScoreStatistics(
+        int count,
+        double mean,
+        double median,
+        double p10,
+        double p25,
+        double p75,
+        double p90,
+        double standardDeviation,
+        double min,
+        double max,
+        int[] histogram) {
+}
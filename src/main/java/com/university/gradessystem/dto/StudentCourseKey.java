@@ -0,0 +1,4 @@
+package com.university.gradessystem.dto;
+
+public record StudentCourseKey(Long studentId, Long courseId) {
+}
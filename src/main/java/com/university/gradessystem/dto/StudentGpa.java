@@ -0,0 +1,11 @@
+package com.university.gradessystem.dto;
+
+import java.util.List;
+
+public record StudentGpa(
+        Long studentId,
+        double gpa,
+        int totalCredits,
+        double averageGrade,
+        List<EnrollmentAverage> enrollments) {
+}
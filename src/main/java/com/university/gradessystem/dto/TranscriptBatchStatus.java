@@ -0,0 +1,19 @@
+package com.university.gradessystem.dto;
+
+import java.time.LocalDateTime;
+
+public record TranscriptBatchStatus(
+        String jobId,
+        State state,
+        long totalStudents,
+        long rendered,
+        long failed,
+        LocalDateTime startedAt,
+        long elapsedMillis,
+        double transcriptsPerSecond,
+        String error) {
+
+    public enum State {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+}
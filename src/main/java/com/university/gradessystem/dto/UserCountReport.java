@@ -0,0 +1,13 @@
+package com.university.gradessystem.dto;
+
+import com.university.gradessystem.model.User;
+
+import java.util.Map;
+
+// Admin user report built from one grouped count query; every role is present, with 0 if unused
+public record UserCountReport(
+        long totalUsers,
+        long activeUsers,
+        Map<User.Role, Long> usersByRole,
+        Map<User.Role, Long> activeUsersByRole) {
+}
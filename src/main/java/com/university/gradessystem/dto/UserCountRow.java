@@ -0,0 +1,9 @@
+package com.university.gradessystem.dto;
+
+import com.university.gradessystem.model.User;
+
+public record UserCountRow(
+        User.Role role,
+        boolean active,
+        Long users) {
+}
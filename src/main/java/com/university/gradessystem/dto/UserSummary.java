@@ -0,0 +1,18 @@
+package com.university.gradessystem.dto;
+
+import com.university.gradessystem.model.User;
+
+// Admin list view of a user; leaves out the password hash and authorities
+public record UserSummary(
+        Long id,
+        String username,
+        String fullName,
+        String email,
+        User.Role role,
+        boolean active) {
+
+    public static UserSummary from(User user) {
+        return new UserSummary(user.getId(), user.getUsername(), user.getFullName(), user.getEmail(),
+                user.getRole(), user.isActive());
+    }
+}
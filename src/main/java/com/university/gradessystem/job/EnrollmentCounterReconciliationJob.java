@@ -0,0 +1,55 @@
+package com.university.gradessystem.job;
+
+import com.university.gradessystem.service.CourseService;
+import com.university.gradessystem.service.GradeService;
+import com.university.gradessystem.service.StudentSummaryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Recomputes the materialized Course.enrolledCount/waitlistedCount columns and the Enrollment
+// grade totals so any drift (manual SQL, seeded data, failed transactions, rounding) is corrected
+// at startup and nightly; the nightly run also queues every student's academic summary for rebuild
+@Component
+public class EnrollmentCounterReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentCounterReconciliationJob.class);
+
+    private final CourseService courseService;
+    private final GradeService gradeService;
+    private final StudentSummaryService studentSummaryService;
+
+    public EnrollmentCounterReconciliationJob(CourseService courseService, GradeService gradeService,
+            StudentSummaryService studentSummaryService) {
+        this.courseService = courseService;
+        this.gradeService = gradeService;
+        this.studentSummaryService = studentSummaryService;
+    }
+
+    // Summaries are built on first read after a restart; runs ahead of startup jobs that read the totals
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcileCounters();
+    }
+
+    @Scheduled(cron = "${gradessystem.jobs.enrollment-counters.cron:0 0 3 * * *}")
+    public void reconcile() {
+        reconcileCounters();
+        int students = studentSummaryService.rebuildAll();
+        log.info("Queued academic summary rebuilds for {} students", students);
+    }
+
+    private void reconcileCounters() {
+        long start = System.currentTimeMillis();
+        int courses = courseService.reconcileEnrollmentCounts();
+        int enrollments = gradeService.reconcileGradeTotals();
+        log.info("Reconciled enrollment counters for {} courses and grade totals for {} enrollments in {} ms",
+                courses, enrollments, System.currentTimeMillis() - start);
+    }
+}
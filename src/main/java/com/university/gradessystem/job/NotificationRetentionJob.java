@@ -0,0 +1,33 @@
+package com.university.gradessystem.job;
+
+import com.university.gradessystem.dto.NotificationRetentionRun;
+import com.university.gradessystem.service.NotificationRetentionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Nightly notification purge and grade-update compaction, see NotificationRetentionService
+@Component
+public class NotificationRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private final NotificationRetentionService notificationRetentionService;
+
+    public NotificationRetentionJob(NotificationRetentionService notificationRetentionService) {
+        this.notificationRetentionService = notificationRetentionService;
+    }
+
+    @Scheduled(cron = "${gradessystem.jobs.notification-retention.cron:0 30 3 * * *}")
+    public void purge() {
+        try {
+            NotificationRetentionRun run = notificationRetentionService.run();
+            log.info("Notification retention: purged {}, compacted {} into {} digests, {} -> {} rows in {} ms",
+                    run.purged(), run.compacted(), run.digestsCreated(), run.rowsBefore(), run.rowsAfter(),
+                    run.elapsedMillis());
+        } catch (IllegalStateException e) {
+            log.info("Skipping notification retention: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.university.gradessystem.job;
+
+import com.university.gradessystem.service.ReportRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Keeps the course report stats behind the admin rollup reports current: courses marked by grade
+// and enrollment changes are refreshed every refresh-delay-ms, and every course is rebuilt at
+// startup and nightly
+@Component
+public class ReportRollupJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportRollupJob.class);
+
+    private final ReportRollupService reportRollupService;
+
+    public ReportRollupJob(ReportRollupService reportRollupService) {
+        this.reportRollupService = reportRollupService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${gradessystem.jobs.report-rollups.cron:0 45 3 * * *}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int courses = reportRollupService.rebuildAll();
+        log.info("Rebuilt report stats for {} courses in {} ms", courses, System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${gradessystem.jobs.report-rollups.refresh-delay-ms:60000}",
+            initialDelayString = "${gradessystem.jobs.report-rollups.refresh-delay-ms:60000}")
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        int courses = reportRollupService.refreshDirty();
+        if (courses > 0) {
+            log.debug("Refreshed report stats for {} courses in {} ms", courses, System.currentTimeMillis() - start);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.university.gradessystem.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.util.HashSet;
 import java.util.Set;
 
@@ -32,6 +34,16 @@ public class Course {
 
     private Integer capacity;
 
+    // Maintained by EnrollmentService and periodically reconciled against the enrollments table.
+    // Only those atomic JPQL updates write the counters; saving a (possibly stale) Course never does.
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int enrolledCount;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int waitlistedCount;
+
     private boolean active = true;
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -131,6 +143,22 @@ public class Course {
         this.capacity = capacity;
     }
 
+    public int getEnrolledCount() {
+        return enrolledCount;
+    }
+
+    public void setEnrolledCount(int enrolledCount) {
+        this.enrolledCount = enrolledCount;
+    }
+
+    public int getWaitlistedCount() {
+        return waitlistedCount;
+    }
+
+    public void setWaitlistedCount(int waitlistedCount) {
+        this.waitlistedCount = waitlistedCount;
+    }
+
     public boolean isActive() {
         return active;
     }
@@ -0,0 +1,207 @@
+package com.university.gradessystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// Per-course enrollment and grade totals behind the admin department, term and professor reports.
+// Refreshed by ReportRollupService when the course's enrollments or grades change; the reports
+// group these rows instead of scanning enrollments and grades.
+@Entity
+@Table(name = "course_report_stats", indexes = {
+        @Index(name = "idx_course_report_stats_department", columnList = "department"),
+        @Index(name = "idx_course_report_stats_term", columnList = "academic_year, semester"),
+        @Index(name = "idx_course_report_stats_professor", columnList = "professor_id") })
+public class CourseReportStats {
+
+    @Id
+    private Long courseId;
+
+    private String courseCode;
+
+    private String department;
+
+    private String semester;
+
+    private String academicYear;
+
+    private Long professorId;
+
+    private String professorName;
+
+    // Every enrollment row, whatever its status
+    private int enrollments;
+
+    private int enrolled;
+
+    private int waitlisted;
+
+    private int completed;
+
+    private int dropped;
+
+    // Enrolled and completed students with a current grade
+    private int graded;
+
+    // Graded students whose letter carries grade points
+    private int passed;
+
+    // Sum of the graded students' current grades, so averages can be rolled up across courses
+    private double gradeSum;
+
+    // Graded students per letter, with +/- folded into the base letter
+    @ElementCollection
+    @CollectionTable(name = "course_report_letter_counts", joinColumns = @JoinColumn(name = "course_id"))
+    @MapKeyColumn(name = "letter")
+    @Column(name = "students")
+    private Map<String, Integer> letterCounts = new HashMap<>();
+
+    @Column(nullable = false)
+    private LocalDateTime refreshedAt;
+
+    // Constructors
+    public CourseReportStats() {
+    }
+
+    public CourseReportStats(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public void setSemester(String semester) {
+        this.semester = semester;
+    }
+
+    public String getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(String academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    public Long getProfessorId() {
+        return professorId;
+    }
+
+    public void setProfessorId(Long professorId) {
+        this.professorId = professorId;
+    }
+
+    public String getProfessorName() {
+        return professorName;
+    }
+
+    public void setProfessorName(String professorName) {
+        this.professorName = professorName;
+    }
+
+    public int getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(int enrollments) {
+        this.enrollments = enrollments;
+    }
+
+    public int getEnrolled() {
+        return enrolled;
+    }
+
+    public void setEnrolled(int enrolled) {
+        this.enrolled = enrolled;
+    }
+
+    public int getWaitlisted() {
+        return waitlisted;
+    }
+
+    public void setWaitlisted(int waitlisted) {
+        this.waitlisted = waitlisted;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(int completed) {
+        this.completed = completed;
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(int dropped) {
+        this.dropped = dropped;
+    }
+
+    public int getGraded() {
+        return graded;
+    }
+
+    public void setGraded(int graded) {
+        this.graded = graded;
+    }
+
+    public int getPassed() {
+        return passed;
+    }
+
+    public void setPassed(int passed) {
+        this.passed = passed;
+    }
+
+    public double getGradeSum() {
+        return gradeSum;
+    }
+
+    public void setGradeSum(double gradeSum) {
+        this.gradeSum = gradeSum;
+    }
+
+    public Map<String, Integer> getLetterCounts() {
+        return letterCounts;
+    }
+
+    public void setLetterCounts(Map<String, Integer> letterCounts) {
+        this.letterCounts = letterCounts;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+}
@@ -1,16 +1,21 @@
 package com.university.gradessystem.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "enrollments")
+@Table(name = "enrollments", uniqueConstraints = @UniqueConstraint(name = "uk_enrollments_student_course", columnNames = {
+        "student_id", "course_id" }))
 public class Enrollment {
 
+    // Sequence-backed ids let Hibernate batch inserts (IDENTITY forces one INSERT per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollments_seq")
+    @SequenceGenerator(name = "enrollments_seq", sequenceName = "enrollments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -30,6 +35,19 @@ public class Enrollment {
     @OneToMany(mappedBy = "enrollment", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Grade> grades = new HashSet<>();
 
+    // Running weighted totals of the scored grades, maintained by GradeService and periodically
+    // reconciled against the grades table; the current grade is weightedScoreSum / weightSum.
+    // Only those atomic JPQL updates write the totals; saving a (possibly stale) Enrollment never does.
+    // The column type is spelled out because Hibernate casts the update deltas to it, and the
+    // default float($p) it derives for an explicit @Column on a double is not valid SQL on H2.
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "double precision")
+    private double weightedScoreSum;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "double precision")
+    private double weightSum;
+
     public enum EnrollmentStatus {
         ENROLLED, WAITLISTED, DROPPED, COMPLETED
     }
@@ -96,4 +114,25 @@ public class Enrollment {
     public void setGrades(Set<Grade> grades) {
         this.grades = grades;
     }
+
+    public double getWeightedScoreSum() {
+        return weightedScoreSum;
+    }
+
+    public void setWeightedScoreSum(double weightedScoreSum) {
+        this.weightedScoreSum = weightedScoreSum;
+    }
+
+    public double getWeightSum() {
+        return weightSum;
+    }
+
+    public void setWeightSum(double weightSum) {
+        this.weightSum = weightSum;
+    }
+
+    // Null until something is graded; the threshold absorbs rounding left by removed grades
+    public Double getCurrentGrade() {
+        return weightSum > 0.000001 ? weightedScoreSum / weightSum : null;
+    }
 }
@@ -4,11 +4,16 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "grades")
+@Table(name = "grades", indexes = {
+        // Grades of one enrollment, newest first (student recent grades, gradebook rows)
+        @Index(name = "idx_grades_enrollment_graded", columnList = "enrollment_id, graded_date"),
+        // Default gradedDate DESC order of the paged grade search across courses
+        @Index(name = "idx_grades_graded_date", columnList = "graded_date") })
 public class Grade {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grades_seq")
+    @SequenceGenerator(name = "grades_seq", sequenceName = "grades_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -4,11 +4,16 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Unread badge counts and mark-all-read
+        @Index(name = "idx_notifications_user_read_created", columnList = "user_id, read, created_at"),
+        // Keyset feed pages, newest first
+        @Index(name = "idx_notifications_user_created_id", columnList = "user_id, created_at, id") })
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,120 @@
+package com.university.gradessystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Denormalized per-student read model behind the student dashboard, GPA and export endpoints.
+// Rebuilt by StudentSummaryService after grades or enrollments of the student change.
+@Entity
+@Table(name = "student_academic_summaries")
+public class StudentAcademicSummary {
+
+    @Id
+    private Long studentId;
+
+    private double gpa;
+
+    private double averageGrade;
+
+    // Credits of the graded enrollments the GPA is weighted by
+    private int gpaCredits;
+
+    // Credits of enrolled and completed courses
+    private int creditsAttempted;
+
+    // Credits of completed courses with a passing grade
+    private int creditsEarned;
+
+    private int enrolledCourses;
+
+    @Column(nullable = false)
+    private LocalDateTime refreshedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "student_summary_courses", joinColumns = @JoinColumn(name = "student_id"))
+    @OrderColumn(name = "position")
+    private List<StudentCourseResult> courses = new ArrayList<>();
+
+    // Constructors
+    public StudentAcademicSummary() {
+    }
+
+    public StudentAcademicSummary(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public double getGpa() {
+        return gpa;
+    }
+
+    public void setGpa(double gpa) {
+        this.gpa = gpa;
+    }
+
+    public double getAverageGrade() {
+        return averageGrade;
+    }
+
+    public void setAverageGrade(double averageGrade) {
+        this.averageGrade = averageGrade;
+    }
+
+    public int getGpaCredits() {
+        return gpaCredits;
+    }
+
+    public void setGpaCredits(int gpaCredits) {
+        this.gpaCredits = gpaCredits;
+    }
+
+    public int getCreditsAttempted() {
+        return creditsAttempted;
+    }
+
+    public void setCreditsAttempted(int creditsAttempted) {
+        this.creditsAttempted = creditsAttempted;
+    }
+
+    public int getCreditsEarned() {
+        return creditsEarned;
+    }
+
+    public void setCreditsEarned(int creditsEarned) {
+        this.creditsEarned = creditsEarned;
+    }
+
+    public int getEnrolledCourses() {
+        return enrolledCourses;
+    }
+
+    public void setEnrolledCourses(int enrolledCourses) {
+        this.enrolledCourses = enrolledCourses;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    public List<StudentCourseResult> getCourses() {
+        return courses;
+    }
+
+    public void setCourses(List<StudentCourseResult> courses) {
+        this.courses = courses;
+    }
+}
@@ -0,0 +1,166 @@
+package com.university.gradessystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One enrollment as stored in a student's academic summary; the letter grade and GPA points are
+// resolved against the course's grade policy when the summary is rebuilt
+@Embeddable
+public class StudentCourseResult {
+
+    private Long enrollmentId;
+
+    private Long courseId;
+
+    private Long gradePolicyId;
+
+    private String courseCode;
+
+    private String courseTitle;
+
+    private Integer credits;
+
+    private String professorName;
+
+    private String department;
+
+    private String semester;
+
+    @Enumerated(EnumType.STRING)
+    private Enrollment.EnrollmentStatus status;
+
+    private LocalDateTime enrollmentDate;
+
+    private Double currentGrade;
+
+    private String letterGrade;
+
+    private Double gradePoints;
+
+    private long gradeCount;
+
+    // Constructors
+    public StudentCourseResult() {
+    }
+
+    // Getters and Setters
+    public Long getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public void setEnrollmentId(Long enrollmentId) {
+        this.enrollmentId = enrollmentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getGradePolicyId() {
+        return gradePolicyId;
+    }
+
+    public void setGradePolicyId(Long gradePolicyId) {
+        this.gradePolicyId = gradePolicyId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+
+    public String getCourseTitle() {
+        return courseTitle;
+    }
+
+    public void setCourseTitle(String courseTitle) {
+        this.courseTitle = courseTitle;
+    }
+
+    public Integer getCredits() {
+        return credits;
+    }
+
+    public void setCredits(Integer credits) {
+        this.credits = credits;
+    }
+
+    public String getProfessorName() {
+        return professorName;
+    }
+
+    public void setProfessorName(String professorName) {
+        this.professorName = professorName;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public void setSemester(String semester) {
+        this.semester = semester;
+    }
+
+    public Enrollment.EnrollmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Enrollment.EnrollmentStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getEnrollmentDate() {
+        return enrollmentDate;
+    }
+
+    public void setEnrollmentDate(LocalDateTime enrollmentDate) {
+        this.enrollmentDate = enrollmentDate;
+    }
+
+    public Double getCurrentGrade() {
+        return currentGrade;
+    }
+
+    public void setCurrentGrade(Double currentGrade) {
+        this.currentGrade = currentGrade;
+    }
+
+    public String getLetterGrade() {
+        return letterGrade;
+    }
+
+    public void setLetterGrade(String letterGrade) {
+        this.letterGrade = letterGrade;
+    }
+
+    public Double getGradePoints() {
+        return gradePoints;
+    }
+
+    public void setGradePoints(Double gradePoints) {
+        this.gradePoints = gradePoints;
+    }
+
+    public long getGradeCount() {
+        return gradeCount;
+    }
+
+    public void setGradeCount(long gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+}
@@ -0,0 +1,88 @@
+package com.university.gradessystem.report;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 CSV input, the counterpart of CsvWriter: quoted fields may contain commas, line breaks
+// and doubled quotes, and records end with CRLF or LF. A leading UTF-8 byte order mark is skipped.
+// Like CsvWriter it never closes the caller's stream.
+public final class CsvReader {
+
+    private final BufferedReader reader;
+    private int line = 1;
+    private int recordLine;
+
+    public CsvReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    // The next record's fields, or null at the end of the input. A blank line is one empty field.
+    public List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c == '"') {
+                        field.append('"');
+                        c = reader.read();
+                    } else {
+                        quoted = false;
+                    }
+                    continue;
+                }
+                if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == -1 || c == '\n' || c == '\r') {
+                fields.add(field.toString());
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                return fields;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.toString().isBlank()) {
+                // Whitespace before an opening quote is dropped, as hand-edited files often have it
+                field.setLength(0);
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    // Line on which the record last returned by readRecord started, counting from 1
+    public int getRecordLine() {
+        return recordLine;
+    }
+}
@@ -0,0 +1,68 @@
+package com.university.gradessystem.report;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// RFC 4180 CSV output: fields containing a comma, quote or line break are quoted with embedded
+// quotes doubled, and records end with CRLF. Output goes through a buffer straight to the stream;
+// the caller owns the stream, so it is flushed but never closed here.
+public final class CsvWriter implements Flushable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final String RECORD_END = "\r\n";
+
+    private final Writer writer;
+
+    public CsvWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    // null is written as an empty field
+    public void writeRow(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (fields[i] != null) {
+                writeField(fields[i].toString());
+            }
+        }
+        writer.write(RECORD_END);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
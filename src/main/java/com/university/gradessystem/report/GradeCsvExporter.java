@@ -0,0 +1,117 @@
+package com.university.gradessystem.report;
+
+import com.university.gradessystem.dto.EnrollmentAverage;
+import com.university.gradessystem.dto.EnrollmentSummary;
+import com.university.gradessystem.dto.GradebookCell;
+import com.university.gradessystem.dto.StudentGpa;
+import com.university.gradessystem.dto.UserSummary;
+import com.university.gradessystem.model.Course;
+import com.university.gradessystem.repository.EnrollmentRepository;
+import com.university.gradessystem.repository.GradeRepository;
+import com.university.gradessystem.repository.UserRepository;
+import com.university.gradessystem.service.GradeService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+// CSV exports for every role. The table-sized exports read their rows through a database cursor
+// and write each one to the response as it arrives, so neither the rows nor the finished file
+// are ever held in memory.
+@Component
+public class GradeCsvExporter {
+
+    private final GradeRepository gradeRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final UserRepository userRepository;
+    private final GradeService gradeService;
+
+    public GradeCsvExporter(GradeRepository gradeRepository, EnrollmentRepository enrollmentRepository,
+            UserRepository userRepository, GradeService gradeService) {
+        this.gradeRepository = gradeRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.userRepository = userRepository;
+        this.gradeService = gradeService;
+    }
+
+    public void writeStudentReport(StudentGpa studentGpa, OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow("Course Code", "Course Title", "Credits", "Grade", "Letter Grade", "Professor");
+        for (EnrollmentAverage enrollment : studentGpa.enrollments()) {
+            Double average = enrollment.average();
+            csv.writeRow(enrollment.courseCode(),
+                    enrollment.courseTitle(),
+                    enrollment.credits(),
+                    average != null ? formatScore(average) : "N/A",
+                    gradeService.convertToLetterGrade(enrollment.gradePolicyId(), average),
+                    enrollment.professorName() != null ? enrollment.professorName() : "Not Assigned");
+        }
+        csv.flush();
+    }
+
+    // Same layout as the XLSX gradebook: one row per enrollment, one column per assignment
+    @Transactional(readOnly = true)
+    public void writeCourseGradebook(Course course, OutputStream out) throws IOException {
+        List<String> assignments = gradeRepository.findAssignmentNamesByCourseId(course.getId());
+        CsvWriter csv = new CsvWriter(out);
+
+        List<Object> header = new ArrayList<>(List.of("Username", "Student", "Status"));
+        header.addAll(assignments);
+        header.add("Average");
+        header.add("Letter Grade");
+        csv.writeRow(header.toArray());
+
+        Object[] fields = new Object[header.size()];
+        try (Stream<GradebookCell> cells = gradeRepository.streamGradebookCells(course.getId())) {
+            GradebookRows.forEach(cells, assignments, entry -> {
+                fields[0] = entry.student().username();
+                fields[1] = entry.student().studentName();
+                fields[2] = entry.student().status();
+                Double[] scores = entry.scores();
+                for (int i = 0; i < scores.length; i++) {
+                    fields[3 + i] = scores[i] != null ? formatScore(scores[i]) : null;
+                }
+                Double average = entry.average();
+                fields[fields.length - 2] = average != null ? formatScore(average) : null;
+                fields[fields.length - 1] = gradeService.convertToLetterGrade(course, average);
+                csv.writeRow(fields);
+            });
+        }
+        csv.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void writeEnrollments(OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow("Enrollment ID", "Student", "Course Code", "Course Title", "Status", "Enrollment Date");
+        try (Stream<EnrollmentSummary> enrollments = enrollmentRepository.streamEnrollmentSummaries()) {
+            for (EnrollmentSummary enrollment : (Iterable<EnrollmentSummary>) enrollments::iterator) {
+                csv.writeRow(enrollment.id(), enrollment.studentName(), enrollment.courseCode(),
+                        enrollment.courseName(), enrollment.status(), enrollment.enrollmentDate());
+            }
+        }
+        csv.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void writeUsers(OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow("User ID", "Username", "Full Name", "Email", "Role", "Active");
+        try (Stream<UserSummary> users = userRepository.streamUserSummaries()) {
+            for (UserSummary user : (Iterable<UserSummary>) users::iterator) {
+                csv.writeRow(user.id(), user.username(), user.fullName(), user.email(), user.role(), user.active());
+            }
+        }
+        csv.flush();
+    }
+
+    // Fixed locale so a decimal comma can never split a field
+    private static String formatScore(double score) {
+        return String.format(Locale.ROOT, "%.1f", score);
+    }
+}
@@ -0,0 +1,184 @@
+package com.university.gradessystem.report;
+
+import com.university.gradessystem.dto.EnrollmentAverage;
+import com.university.gradessystem.dto.GradebookCell;
+import com.university.gradessystem.dto.StudentGpa;
+import com.university.gradessystem.model.Course;
+import com.university.gradessystem.repository.GradeRepository;
+import com.university.gradessystem.service.GradeService;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Stream;
+
+// XLSX exports built on POI's streaming SXSSFWorkbook. Only ROW_WINDOW rows are kept in memory;
+// older rows are flushed to a compressed temp file, which closing the workbook deletes, so memory
+// stays flat regardless of how many enrollments a course has. Column widths are fixed because
+// auto-sizing needs every row in memory.
+@Component
+public class GradeWorkbookExporter {
+
+    private static final int ROW_WINDOW = 100;
+
+    private final GradeRepository gradeRepository;
+    private final GradeService gradeService;
+
+    public GradeWorkbookExporter(GradeRepository gradeRepository, GradeService gradeService) {
+        this.gradeRepository = gradeRepository;
+        this.gradeService = gradeService;
+    }
+
+    public void writeStudentReport(StudentGpa studentGpa, OutputStream out) throws IOException {
+        try (SXSSFWorkbook workbook = newWorkbook()) {
+            Styles styles = new Styles(workbook);
+            SXSSFSheet sheet = workbook.createSheet("Grades");
+            setColumnWidths(sheet, 14, 40, 10, 12, 14, 28, 14);
+            writeHeader(sheet, styles, "Course Code", "Course Title", "Credits", "Average", "Letter Grade",
+                    "Professor", "Status");
+
+            int rowIndex = 1;
+            for (EnrollmentAverage enrollment : studentGpa.enrollments()) {
+                Row row = sheet.createRow(rowIndex++);
+                row.createCell(0).setCellValue(enrollment.courseCode());
+                row.createCell(1).setCellValue(enrollment.courseTitle());
+                if (enrollment.credits() != null) {
+                    row.createCell(2).setCellValue(enrollment.credits());
+                }
+                writeAverage(row, 3, enrollment.average(),
+                        gradeService.convertToLetterGrade(enrollment.gradePolicyId(), enrollment.average()), styles);
+                row.createCell(5).setCellValue(
+                        enrollment.professorName() != null ? enrollment.professorName() : "Not Assigned");
+                row.createCell(6).setCellValue(String.valueOf(enrollment.status()));
+            }
+
+            rowIndex++;
+            Row credits = sheet.createRow(rowIndex++);
+            credits.createCell(0).setCellValue("Total Credits");
+            credits.getCell(0).setCellStyle(styles.header);
+            credits.createCell(2).setCellValue(studentGpa.totalCredits());
+            Row gpa = sheet.createRow(rowIndex);
+            gpa.createCell(0).setCellValue("GPA");
+            gpa.getCell(0).setCellStyle(styles.header);
+            gpa.createCell(2).setCellValue(studentGpa.gpa());
+            gpa.getCell(2).setCellStyle(styles.gpa);
+
+            workbook.write(out);
+        }
+    }
+
+    // One row per enrollment and one column per assignment; the grades are read through a
+    // database cursor and each student's row is written as soon as their grades are complete.
+    @Transactional(readOnly = true)
+    public void writeCourseGradebook(Course course, OutputStream out) throws IOException {
+        List<String> assignments = gradeRepository.findAssignmentNamesByCourseId(course.getId());
+        int averageColumn = 3 + assignments.size();
+
+        try (SXSSFWorkbook workbook = newWorkbook()) {
+            Styles styles = new Styles(workbook);
+            SXSSFSheet sheet = workbook.createSheet(safeSheetName(course.getCourseCode()));
+            sheet.createFreezePane(3, 1);
+
+            String[] headers = new String[averageColumn + 2];
+            headers[0] = "Username";
+            headers[1] = "Student";
+            headers[2] = "Status";
+            for (int i = 0; i < assignments.size(); i++) {
+                headers[3 + i] = assignments.get(i);
+            }
+            headers[averageColumn] = "Average";
+            headers[averageColumn + 1] = "Letter Grade";
+            writeHeader(sheet, styles, headers);
+            sheet.setColumnWidth(0, 16 * 256);
+            sheet.setColumnWidth(1, 30 * 256);
+            sheet.setColumnWidth(2, 14 * 256);
+            for (int column = 3; column < headers.length; column++) {
+                sheet.setColumnWidth(column, 14 * 256);
+            }
+
+            int[] rowIndex = { 1 };
+            try (Stream<GradebookCell> cells = gradeRepository.streamGradebookCells(course.getId())) {
+                GradebookRows.forEach(cells, assignments, entry -> {
+                    Row row = sheet.createRow(rowIndex[0]++);
+                    row.createCell(0).setCellValue(entry.student().username());
+                    row.createCell(1).setCellValue(entry.student().studentName());
+                    row.createCell(2).setCellValue(String.valueOf(entry.student().status()));
+                    Double[] scores = entry.scores();
+                    for (int i = 0; i < scores.length; i++) {
+                        if (scores[i] != null) {
+                            row.createCell(3 + i).setCellValue(scores[i]);
+                            row.getCell(3 + i).setCellStyle(styles.score);
+                        }
+                    }
+                    writeAverage(row, averageColumn, entry.average(),
+                            gradeService.convertToLetterGrade(course, entry.average()), styles);
+                });
+            }
+
+            workbook.write(out);
+        }
+    }
+
+    private SXSSFWorkbook newWorkbook() {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        return workbook;
+    }
+
+    // Average followed by its letter grade in the next column
+    private void writeAverage(Row row, int column, Double average, String letterGrade, Styles styles) {
+        if (average != null) {
+            row.createCell(column).setCellValue(average);
+            row.getCell(column).setCellStyle(styles.score);
+        }
+        row.createCell(column + 1).setCellValue(letterGrade);
+    }
+
+    private void writeHeader(Sheet sheet, Styles styles, String... headers) {
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < headers.length; i++) {
+            header.createCell(i).setCellValue(headers[i]);
+            header.getCell(i).setCellStyle(styles.header);
+        }
+    }
+
+    private void setColumnWidths(Sheet sheet, int... widthsInCharacters) {
+        for (int i = 0; i < widthsInCharacters.length; i++) {
+            sheet.setColumnWidth(i, widthsInCharacters[i] * 256);
+        }
+    }
+
+    // Sheet names are limited to 31 characters and may not contain : \ / ? * [ ]
+    private static String safeSheetName(String name) {
+        String cleaned = name == null || name.isBlank() ? "Gradebook" : name.replaceAll("[:\\\\/?*\\[\\]]", "_");
+        return cleaned.length() > 31 ? cleaned.substring(0, 31) : cleaned;
+    }
+
+    // Styles belong to a workbook, so they are created once per export
+    private static final class Styles {
+        private final CellStyle header;
+        private final CellStyle score;
+        private final CellStyle gpa;
+
+        private Styles(SXSSFWorkbook workbook) {
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            header = workbook.createCellStyle();
+            header.setFont(bold);
+
+            score = workbook.createCellStyle();
+            score.setDataFormat(workbook.createDataFormat().getFormat("0.0"));
+
+            gpa = workbook.createCellStyle();
+            gpa.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+        }
+    }
+}
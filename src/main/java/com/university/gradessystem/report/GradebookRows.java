@@ -0,0 +1,59 @@
+package com.university.gradessystem.report;
+
+import com.university.gradessystem.dto.GradebookCell;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Folds the gradebook cursor (one element per grade, grouped by enrollment) into one row per
+// enrollment with a score per assignment column. Shared by the XLSX and CSV gradebooks.
+// If an assignment was graded more than once the latest score is kept; the average is the
+// enrollment's running weighted grade.
+final class GradebookRows {
+
+    private GradebookRows() {
+    }
+
+    record Row(GradebookCell student, Double[] scores, Double average) {
+    }
+
+    @FunctionalInterface
+    interface RowHandler {
+        void handle(Row row) throws IOException;
+    }
+
+    static void forEach(Stream<GradebookCell> cells, List<String> assignments, RowHandler handler)
+            throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < assignments.size(); i++) {
+            columns.put(assignments.get(i), i);
+        }
+
+        GradebookCell current = null;
+        Double[] scores = null;
+
+        for (GradebookCell cell : (Iterable<GradebookCell>) cells::iterator) {
+            if (current == null || !cell.enrollmentId().equals(current.enrollmentId())) {
+                if (current != null) {
+                    handler.handle(new Row(current, scores, current.currentGrade()));
+                }
+                current = cell;
+                scores = new Double[assignments.size()];
+            }
+
+            if (cell.assignmentName() != null && cell.score() != null) {
+                // A grade added after the assignment names were read has no column
+                Integer column = columns.get(cell.assignmentName());
+                if (column != null) {
+                    scores[column] = cell.score();
+                }
+            }
+        }
+        if (current != null) {
+            handler.handle(new Row(current, scores, current.currentGrade()));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.university.gradessystem.report;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.university.gradessystem.dto.EnrollmentAverage;
+import com.university.gradessystem.dto.StudentGpa;
+import com.university.gradessystem.dto.UserSummary;
+import com.university.gradessystem.service.GradeService;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+// Writes a student's transcript as a PDF straight to an output stream. The course table is added
+// in chunks (iText large-table mode) so finished pages are flushed to the stream instead of the
+// whole document being laid out in memory. Fonts are built once and shared by all requests.
+@Component
+public class TranscriptPdfRenderer {
+
+    private static final float[] COLUMN_WIDTHS = { 1.4f, 4f, 1f, 1.6f, 1.2f, 1f };
+    private static final String[] COLUMN_HEADERS = { "Code", "Course", "Credits", "Status", "Average", "Grade" };
+    private static final int ROWS_PER_CHUNK = 50;
+    private static final BaseColor HEADER_BACKGROUND = new BaseColor(230, 230, 230);
+
+    private final GradeService gradeService;
+    private final Font titleFont;
+    private final Font labelFont;
+    private final Font bodyFont;
+    private final Font headerFont;
+
+    public TranscriptPdfRenderer(GradeService gradeService) {
+        this.gradeService = gradeService;
+        try {
+            BaseFont regular = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+            BaseFont bold = BaseFont.createFont(BaseFont.HELVETICA_BOLD, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+            this.titleFont = new Font(bold, 16);
+            this.labelFont = new Font(bold, 10);
+            this.bodyFont = new Font(regular, 10);
+            this.headerFont = new Font(bold, 9);
+        } catch (DocumentException | IOException e) {
+            throw new IllegalStateException("Could not load transcript fonts", e);
+        }
+    }
+
+    public void render(UserSummary student, StudentGpa studentGpa, OutputStream out) throws IOException {
+        Document document = new Document(PageSize.A4, 36, 36, 48, 36);
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            // The caller owns the stream (servlet response or a ZIP entry)
+            writer.setCloseStream(false);
+            document.open();
+
+            Paragraph title = new Paragraph("OFFICIAL TRANSCRIPT", titleFont);
+            title.setAlignment(Element.ALIGN_CENTER);
+            title.setSpacingAfter(16);
+            document.add(title);
+
+            document.add(labelled("Student: ", student.fullName()));
+            document.add(labelled("Student ID: ", String.valueOf(student.id())));
+            document.add(labelled("Email: ", student.email()));
+            Paragraph issued = labelled("Issued: ", LocalDate.now().toString());
+            issued.setSpacingAfter(12);
+            document.add(issued);
+
+            PdfPTable table = new PdfPTable(COLUMN_WIDTHS);
+            table.setWidthPercentage(100);
+            table.setHeaderRows(1);
+            table.setComplete(false);
+            for (String header : COLUMN_HEADERS) {
+                PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
+                cell.setBackgroundColor(HEADER_BACKGROUND);
+                table.addCell(cell);
+            }
+
+            int rows = 0;
+            for (EnrollmentAverage enrollment : studentGpa.enrollments()) {
+                Double average = enrollment.average();
+                table.addCell(new Phrase(enrollment.courseCode(), bodyFont));
+                table.addCell(new Phrase(enrollment.courseTitle(), bodyFont));
+                table.addCell(new Phrase(String.valueOf(enrollment.credits()), bodyFont));
+                table.addCell(new Phrase(String.valueOf(enrollment.status()), bodyFont));
+                table.addCell(new Phrase(average != null ? String.format("%.1f", average) : "N/A", bodyFont));
+                table.addCell(new Phrase(average != null
+                        ? gradeService.convertToLetterGrade(enrollment.gradePolicyId(), average) : "-", bodyFont));
+
+                if (++rows % ROWS_PER_CHUNK == 0) {
+                    document.add(table);
+                }
+            }
+            table.setComplete(true);
+            document.add(table);
+
+            Paragraph summary = labelled("Total Credits: ", String.valueOf(studentGpa.totalCredits()));
+            summary.setSpacingBefore(12);
+            document.add(summary);
+            document.add(labelled("Overall GPA: ", String.format("%.2f", studentGpa.gpa())));
+        } catch (DocumentException e) {
+            throw new IOException("Could not render transcript", e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+        }
+    }
+
+    private Paragraph labelled(String label, String value) {
+        Paragraph paragraph = new Paragraph();
+        paragraph.add(new Phrase(label, labelFont));
+        paragraph.add(new Phrase(value != null ? value : "", bodyFont));
+        return paragraph;
+    }
+}
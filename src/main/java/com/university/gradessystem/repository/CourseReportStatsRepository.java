@@ -0,0 +1,25 @@
+package com.university.gradessystem.repository;
+
+import com.university.gradessystem.model.CourseReportStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CourseReportStatsRepository extends JpaRepository<CourseReportStats, Long> {
+
+    @Query("SELECT DISTINCT s FROM CourseReportStats s LEFT JOIN FETCH s.letterCounts WHERE s.courseId IN :courseIds")
+    List<CourseReportStats> findWithLetterCountsByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    @Query("SELECT s.courseId FROM CourseReportStats s WHERE NOT EXISTS "
+            + "(SELECT c.id FROM Course c WHERE c.id = s.courseId)")
+    List<Long> findOrphanedCourseIds();
+
+    @Query("SELECT MAX(s.refreshedAt) FROM CourseReportStats s")
+    LocalDateTime findLastRefreshedAt();
+}
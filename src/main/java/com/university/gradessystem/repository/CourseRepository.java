@@ -1,26 +1,101 @@
 package com.university.gradessystem.repository;
 
+import com.university.gradessystem.dto.CourseCountRow;
+import com.university.gradessystem.dto.CourseSummary;
 import com.university.gradessystem.model.Course;
 import com.university.gradessystem.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
-    
+
+    @Override
+    @EntityGraph(attributePaths = { "professor", "gradePolicy" })
+    List<Course> findAll();
+
     List<Course> findByProfessor(User professor);
+
+    // Ownership check in the query: a course without a professor simply does not match
+    Optional<Course> findByIdAndProfessor(Long id, User professor);
     
+    @EntityGraph(attributePaths = { "professor", "gradePolicy" })
     List<Course> findByActive(boolean active);
     
     List<Course> findByDepartment(String department);
     
+    @EntityGraph(attributePaths = { "professor", "gradePolicy" })
     List<Course> findByProfessorAndActive(User professor, boolean active);
     
     List<Course> findBySemesterAndAcademicYear(String semester, String academicYear);
     
     @Query("SELECT COUNT(c) FROM Course c WHERE c.active = true")
     long countActiveCourses();
+
+    @Query("SELECT new com.university.gradessystem.dto.CourseCountRow(c.department, c.active, COUNT(c)) FROM Course c "
+            + "GROUP BY c.department, c.active")
+    List<CourseCountRow> countByDepartmentAndActive();
+
+    // Row-locks the course for the rest of the transaction; used when several seats are
+    // handed out at once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.id = :id")
+    Optional<Course> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.courseCode IN :courseCodes ORDER BY c.id")
+    List<Course> findByCourseCodesForUpdate(@Param("courseCodes") Collection<String> courseCodes);
+
+    // Atomically takes one seat if the course has room; returns 0 when it is full
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledCount = c.enrolledCount + 1 "
+            + "WHERE c.id = :courseId AND (c.capacity IS NULL OR c.enrolledCount < c.capacity)")
+    int reserveSeat(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledCount = c.enrolledCount + :enrolledDelta, "
+            + "c.waitlistedCount = c.waitlistedCount + :waitlistedDelta WHERE c.id = :courseId")
+    int adjustEnrollmentCounts(@Param("courseId") Long courseId,
+            @Param("enrolledDelta") int enrolledDelta,
+            @Param("waitlistedDelta") int waitlistedDelta);
+
+    @Modifying
+    @Query("UPDATE Course c SET "
+            + "c.enrolledCount = (SELECT CAST(COUNT(e) AS Integer) FROM Enrollment e WHERE e.course = c AND e.status = 'ENROLLED'), "
+            + "c.waitlistedCount = (SELECT CAST(COUNT(e) AS Integer) FROM Enrollment e WHERE e.course = c AND e.status = 'WAITLISTED')")
+    int reconcileEnrollmentCounts();
+
+    @Query(value = "SELECT new com.university.gradessystem.dto.CourseSummary(c.id, c.courseCode, c.title, c.description, "
+            + "c.credits, c.department, p.id, p.fullName, c.capacity, c.active, c.semester, c.academicYear) "
+            + "FROM Course c LEFT JOIN c.professor p",
+            countQuery = "SELECT COUNT(c) FROM Course c")
+    Page<CourseSummary> findCourseSummaries(Pageable pageable);
+
+    @Query("SELECT new com.university.gradessystem.dto.CourseSummary(c.id, c.courseCode, c.title, c.description, "
+            + "c.credits, c.department, p.id, p.fullName, c.capacity, c.active, c.semester, c.academicYear) "
+            + "FROM Course c LEFT JOIN c.professor p WHERE c.active = true ORDER BY c.courseCode")
+    List<CourseSummary> findActiveCourseSummaries();
+
+    @Query("SELECT new com.university.gradessystem.dto.CourseSummary(c.id, c.courseCode, c.title, c.description, "
+            + "c.credits, c.department, p.id, p.fullName, c.capacity, c.active, c.semester, c.academicYear) "
+            + "FROM Course c LEFT JOIN c.professor p WHERE c.id IN :ids")
+    List<CourseSummary> findCourseSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.id FROM Course c ORDER BY c.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT c.id FROM Course c WHERE c.gradePolicy.id = :gradePolicyId")
+    List<Long> findIdsByGradePolicyId(@Param("gradePolicyId") Long gradePolicyId);
 }
@@ -1,15 +1,25 @@
 package com.university.gradessystem.repository;
 
+import com.university.gradessystem.dto.CourseEnrollmentGrade;
+import com.university.gradessystem.dto.EnrollmentSummary;
+import com.university.gradessystem.dto.StudentCourseKey;
 import com.university.gradessystem.model.Course;
 import com.university.gradessystem.model.Enrollment;
 import com.university.gradessystem.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
@@ -27,6 +37,115 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course = :course AND e.status = 'ENROLLED'")
     long countEnrolledStudents(@Param("course") Course course);
     
+    // Oldest waitlisted enrollments first
+    @Query("SELECT e FROM Enrollment e WHERE e.course.id = :courseId AND e.status = 'WAITLISTED' "
+            + "ORDER BY e.enrollmentDate, e.id")
+    List<Enrollment> findWaitlistQueue(@Param("courseId") Long courseId, Pageable pageable);
+
+    // Conditional so two concurrent promoters cannot both move the same enrollment
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = 'ENROLLED' WHERE e.id = :id AND e.status = 'WAITLISTED'")
+    int promoteFromWaitlist(@Param("id") Long id);
+
+    // Only the status column, so grade totals moved by a concurrent grade are not written back
+    // from a stale entity; conditional so two concurrent changes cannot both count the same move
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = :status WHERE e.id = :id AND e.status = :expected")
+    int changeStatus(@Param("id") Long id,
+            @Param("expected") Enrollment.EnrollmentStatus expected,
+            @Param("status") Enrollment.EnrollmentStatus status);
+
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.weightedScoreSum = e.weightedScoreSum + :weightedScoreDelta, "
+            + "e.weightSum = e.weightSum + :weightDelta WHERE e.id = :id")
+    int adjustGradeTotals(@Param("id") Long id,
+            @Param("weightedScoreDelta") double weightedScoreDelta,
+            @Param("weightDelta") double weightDelta);
+
+    // Bulk counterpart of adjustGradeTotals: adds the given new grades to their enrollments'
+    // totals in one statement, with the same weighting as reconcileGradeTotals
+    @Modifying
+    @Query("UPDATE Enrollment e SET "
+            + "e.weightedScoreSum = e.weightedScoreSum + COALESCE((SELECT SUM(g.score * COALESCE(g.weightPercentage, 1.0)) "
+            + "FROM Grade g WHERE g.enrollment = e AND g.id IN :gradeIds AND g.score IS NOT NULL), 0.0), "
+            + "e.weightSum = e.weightSum + COALESCE((SELECT SUM(COALESCE(g.weightPercentage, 1.0)) "
+            + "FROM Grade g WHERE g.enrollment = e AND g.id IN :gradeIds AND g.score IS NOT NULL), 0.0) "
+            + "WHERE e.id IN :enrollmentIds")
+    int addGradeTotals(@Param("enrollmentIds") Collection<Long> enrollmentIds,
+            @Param("gradeIds") Collection<Long> gradeIds);
+
+    // Same weighting as GradeService: grades without a weight count once
+    @Modifying
+    @Query("UPDATE Enrollment e SET "
+            + "e.weightedScoreSum = COALESCE((SELECT SUM(g.score * COALESCE(g.weightPercentage, 1.0)) FROM Grade g "
+            + "WHERE g.enrollment = e AND g.score IS NOT NULL), 0.0), "
+            + "e.weightSum = COALESCE((SELECT SUM(COALESCE(g.weightPercentage, 1.0)) FROM Grade g "
+            + "WHERE g.enrollment = e AND g.score IS NOT NULL), 0.0)")
+    int reconcileGradeTotals();
+
+    @Query("SELECT AVG(e.weightedScoreSum / e.weightSum) FROM Enrollment e "
+            + "WHERE e.course.id = :courseId AND e.weightSum > 0.000001")
+    Double averageCurrentGradeByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student s WHERE e.course.id = :courseId AND s.id IN :studentIds")
+    List<Enrollment> findByCourseIdAndStudentIds(@Param("courseId") Long courseId,
+            @Param("studentIds") Collection<Long> studentIds);
+
+    // Only enrollments in the professor's courses come back, which doubles as the ownership check
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course c "
+            + "WHERE e.id IN :ids AND c.professor = :professor")
+    List<Enrollment> findWithStudentByIdsAndProfessor(@Param("ids") Collection<Long> ids,
+            @Param("professor") User professor);
+
+    @Query("SELECT new com.university.gradessystem.dto.StudentCourseKey(e.student.id, e.course.id) FROM Enrollment e "
+            + "WHERE e.student.id IN :studentIds AND e.course.id IN :courseIds")
+    List<StudentCourseKey> findStudentCourseKeys(@Param("studentIds") Collection<Long> studentIds,
+            @Param("courseIds") Collection<Long> courseIds);
+
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.student = :student")
+    List<Long> findCourseIdsByStudent(@Param("student") User student);
+
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.student = :student")
     long countEnrollments(@Param("student") User student);
+
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student WHERE e.course = :course ORDER BY e.id")
+    List<Enrollment> findWithStudentByCourse(@Param("course") Course course);
+
+    // Keyset page: rows strictly after the given id, the page size comes from the Pageable
+    @Query("SELECT new com.university.gradessystem.dto.EnrollmentSummary(e.id, s.fullName, c.title, c.courseCode, "
+            + "e.status, e.enrollmentDate) "
+            + "FROM Enrollment e JOIN e.student s JOIN e.course c "
+            + "WHERE (:afterId IS NULL OR e.id > :afterId) "
+            + "ORDER BY e.id")
+    List<EnrollmentSummary> findEnrollmentSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Whole-table export, read through a cursor; needs an open transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.university.gradessystem.dto.EnrollmentSummary(e.id, s.fullName, c.title, c.courseCode, "
+            + "e.status, e.enrollmentDate) "
+            + "FROM Enrollment e JOIN e.student s JOIN e.course c "
+            + "ORDER BY e.id")
+    Stream<EnrollmentSummary> streamEnrollmentSummaries();
+
+    // Notification fan-out targets; ids only so large courses stay cheap to resolve
+    @Query("SELECT DISTINCT e.student.id FROM Enrollment e WHERE e.course.gradePolicy.id = :gradePolicyId")
+    List<Long> findStudentIdsByGradePolicyId(@Param("gradePolicyId") Long gradePolicyId);
+
+    @Query("SELECT DISTINCT e.student.id FROM Enrollment e")
+    List<Long> findEnrolledStudentIds();
+
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.course.id = :courseId AND e.status IN :statuses "
+            + "ORDER BY e.student.id")
+    List<Long> findStudentIdsByCourseAndStatuses(@Param("courseId") Long courseId,
+            @Param("statuses") Collection<Enrollment.EnrollmentStatus> statuses);
+
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.course.id = :courseId AND e.student.id IN :studentIds "
+            + "ORDER BY e.student.id")
+    List<Long> findStudentIdsByCourseAndStudentIds(@Param("courseId") Long courseId,
+            @Param("studentIds") Collection<Long> studentIds);
+
+    @Query("SELECT new com.university.gradessystem.dto.CourseEnrollmentGrade(c.id, gp.id, e.status, "
+            + "e.weightedScoreSum, e.weightSum) FROM Enrollment e JOIN e.course c LEFT JOIN c.gradePolicy gp "
+            + "WHERE c.id IN :courseIds")
+    List<CourseEnrollmentGrade> findCourseEnrollmentGrades(@Param("courseIds") Collection<Long> courseIds);
 }
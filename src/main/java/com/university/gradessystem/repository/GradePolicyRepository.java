@@ -2,8 +2,15 @@ package com.university.gradessystem.repository;
 
 import com.university.gradessystem.model.GradePolicy;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface GradePolicyRepository extends JpaRepository<GradePolicy, Long> {
+
+    @Query("SELECT p FROM GradePolicy p LEFT JOIN FETCH p.gradeScale WHERE p.id = :id")
+    Optional<GradePolicy> findWithGradeScaleById(@Param("id") Long id);
 }
@@ -1,27 +1,94 @@
 package com.university.gradessystem.repository;
 
+import com.university.gradessystem.dto.CohortGradeRow;
+import com.university.gradessystem.dto.EnrollmentAverage;
+import com.university.gradessystem.dto.EnrollmentGradeStats;
+import com.university.gradessystem.dto.GradebookCell;
+import com.university.gradessystem.dto.ProfessorGradeStats;
 import com.university.gradessystem.model.Enrollment;
 import com.university.gradessystem.model.Grade;
+import com.university.gradessystem.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface GradeRepository extends JpaRepository<Grade, Long> {
+public interface GradeRepository extends JpaRepository<Grade, Long>, JpaSpecificationExecutor<Grade> {
+
+    // Fetch the to-one graph needed to render a result page so each page is a single select plus its count
+    @Override
+    @EntityGraph(attributePaths = { "enrollment", "enrollment.student", "enrollment.course",
+            "enrollment.course.professor", "enrollment.course.gradePolicy", "gradedBy" })
+    Page<Grade> findAll(Specification<Grade> spec, Pageable pageable);
     
     List<Grade> findByEnrollment(Enrollment enrollment);
     
     List<Grade> findByEnrollmentAndAssignmentType(Enrollment enrollment, String assignmentType);
     
-    @Query("SELECT AVG(g.score) FROM Grade g WHERE g.enrollment = :enrollment")
-    Double calculateAverageGrade(@Param("enrollment") Enrollment enrollment);
-    
-    @Query("SELECT AVG(g.score) FROM Grade g JOIN g.enrollment e WHERE e.course.id = :courseId")
-    Double calculateAverageGradeForCourse(@Param("courseId") Long courseId);
-    
-    @Query("SELECT g FROM Grade g JOIN g.enrollment e WHERE e.student.id = :studentId ORDER BY g.gradedDate DESC")
-    List<Grade> findRecentGradesByStudentId(@Param("studentId") Long studentId);
+    @Query("SELECT g FROM Grade g JOIN FETCH g.enrollment e JOIN FETCH e.student JOIN FETCH e.course c "
+            + "LEFT JOIN FETCH c.professor LEFT JOIN FETCH c.gradePolicy LEFT JOIN FETCH g.gradedBy "
+            + "WHERE e.student.id = :studentId ORDER BY g.gradedDate DESC")
+    List<Grade> findRecentGradesByStudentId(@Param("studentId") Long studentId, Pageable pageable);
+
+    @Query("SELECT new com.university.gradessystem.dto.EnrollmentAverage(e.id, c.id, gp.id, c.courseCode, c.title, "
+            + "c.credits, p.fullName, c.department, c.semester, e.status, e.enrollmentDate, "
+            + "CASE WHEN e.weightSum > 0.000001 THEN e.weightedScoreSum / e.weightSum END, "
+            + "(SELECT COUNT(g) FROM Grade g WHERE g.enrollment = e)) "
+            + "FROM Enrollment e JOIN e.course c LEFT JOIN c.gradePolicy gp LEFT JOIN c.professor p "
+            + "WHERE e.student.id = :studentId "
+            + "ORDER BY e.id")
+    List<EnrollmentAverage> findEnrollmentAveragesByStudentId(@Param("studentId") Long studentId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.university.gradessystem.dto.CohortGradeRow(s.id, s.fullName, e.id, c.credits, gp.id, "
+            + "e.weightedScoreSum / e.weightSum) "
+            + "FROM Enrollment e JOIN e.student s JOIN e.course c LEFT JOIN c.gradePolicy gp "
+            + "WHERE s.role = :role AND s.active = true AND e.weightSum > 0.000001 AND c.credits IS NOT NULL "
+            + "AND (:department IS NULL OR c.department = :department) "
+            + "AND (:semester IS NULL OR c.semester = :semester) "
+            + "AND (:academicYear IS NULL OR c.academicYear = :academicYear) "
+            + "ORDER BY s.id, e.id")
+    Stream<CohortGradeRow> streamCohortGrades(@Param("role") User.Role role,
+            @Param("department") String department,
+            @Param("semester") String semester,
+            @Param("academicYear") String academicYear);
+
+    // Gradebook columns, in the order the assignments were first graded
+    @Query("SELECT g.assignmentName FROM Grade g WHERE g.enrollment.course.id = :courseId "
+            + "GROUP BY g.assignmentName ORDER BY MIN(g.gradedDate), g.assignmentName")
+    List<String> findAssignmentNamesByCourseId(@Param("courseId") Long courseId);
+
+    // One row per grade (or one gradeless row per enrollment), grouped by enrollment so a
+    // gradebook can be written one student at a time
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.university.gradessystem.dto.GradebookCell(e.id, s.username, s.fullName, e.status, "
+            + "CASE WHEN e.weightSum > 0.000001 THEN e.weightedScoreSum / e.weightSum END, g.assignmentName, g.score) "
+            + "FROM Enrollment e JOIN e.student s LEFT JOIN e.grades g "
+            + "WHERE e.course.id = :courseId "
+            + "ORDER BY s.fullName, e.id, g.gradedDate")
+    Stream<GradebookCell> streamGradebookCells(@Param("courseId") Long courseId);
+
+    @Query("SELECT new com.university.gradessystem.dto.EnrollmentGradeStats(e.id, "
+            + "CASE WHEN e.weightSum > 0.000001 THEN e.weightedScoreSum / e.weightSum END, COUNT(g.id)) "
+            + "FROM Enrollment e LEFT JOIN e.grades g "
+            + "WHERE e.course.id = :courseId "
+            + "GROUP BY e.id, e.weightedScoreSum, e.weightSum")
+    List<EnrollmentGradeStats> findEnrollmentGradeStatsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT new com.university.gradessystem.dto.ProfessorGradeStats(COUNT(DISTINCT e.id), COUNT(g.id), COUNT(g.score)) "
+            + "FROM Enrollment e JOIN e.course c LEFT JOIN e.grades g "
+            + "WHERE c.professor = :professor AND c.active = true")
+    ProfessorGradeStats findProfessorGradeStats(@Param("professor") User professor);
 }
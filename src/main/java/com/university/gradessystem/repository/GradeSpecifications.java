@@ -0,0 +1,84 @@
+package com.university.gradessystem.repository;
+
+import com.university.gradessystem.dto.GradeSearchCriteria;
+import com.university.gradessystem.model.Grade;
+import com.university.gradessystem.model.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+public final class GradeSpecifications {
+
+    private GradeSpecifications() {
+    }
+
+    public static Specification<Grade> search(User professor, GradeSearchCriteria criteria) {
+        return Specification.where(gradedInCoursesOf(professor))
+                .and(inCourse(criteria.courseId()))
+                .and(studentNameStartsWith(criteria.studentNamePrefix()))
+                .and(hasAssignmentType(criteria.assignmentType()))
+                .and(scoreAtLeast(criteria.minScore()))
+                .and(scoreAtMost(criteria.maxScore()))
+                .and(gradedOnOrAfter(criteria.gradedFrom()))
+                .and(gradedOnOrBefore(criteria.gradedTo()));
+    }
+
+    public static Specification<Grade> gradedInCoursesOf(User professor) {
+        return (root, query, cb) -> cb.equal(
+                root.get("enrollment").get("course").get("professor").get("id"), professor.getId());
+    }
+
+    public static Specification<Grade> inCourse(Long courseId) {
+        if (courseId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("enrollment").get("course").get("id"), courseId);
+    }
+
+    public static Specification<Grade> studentNameStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = prefix.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(
+                cb.lower(root.get("enrollment").get("student").get("fullName")), pattern, '\\');
+    }
+
+    public static Specification<Grade> hasAssignmentType(String assignmentType) {
+        if (assignmentType == null || assignmentType.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("assignmentType"), assignmentType);
+    }
+
+    public static Specification<Grade> scoreAtLeast(Double minScore) {
+        if (minScore == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("score"), minScore);
+    }
+
+    public static Specification<Grade> scoreAtMost(Double maxScore) {
+        if (maxScore == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("score"), maxScore);
+    }
+
+    public static Specification<Grade> gradedOnOrAfter(LocalDate from) {
+        if (from == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("gradedDate"), from.atStartOfDay());
+    }
+
+    public static Specification<Grade> gradedOnOrBefore(LocalDate to) {
+        if (to == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThan(root.get("gradedDate"), to.plusDays(1).atStartOfDay());
+    }
+}
@@ -1,11 +1,20 @@
 package com.university.gradessystem.repository;
 
+import com.university.gradessystem.dto.NotificationDigestGroup;
+import com.university.gradessystem.dto.NotificationView;
 import com.university.gradessystem.model.Notification;
 import com.university.gradessystem.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
@@ -15,4 +24,78 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserAndReadOrderByCreatedAtDesc(User user, boolean read);
     
     long countByUserAndRead(User user, boolean read);
+
+    boolean existsByIdAndUser(Long id, User user);
+
+    // Keyset feed, newest first: the first page, then pages strictly after a (createdAt, id) cursor
+    @Query("SELECT new com.university.gradessystem.dto.NotificationView(n.id, n.message, n.type, n.createdAt, "
+            + "n.read, c.title) "
+            + "FROM Notification n LEFT JOIN n.course c WHERE n.user = :user "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationView> findFeed(@Param("user") User user, Pageable pageable);
+
+    @Query("SELECT new com.university.gradessystem.dto.NotificationView(n.id, n.message, n.type, n.createdAt, "
+            + "n.read, c.title) "
+            + "FROM Notification n LEFT JOIN n.course c WHERE n.user = :user "
+            + "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationView> findFeedBefore(@Param("user") User user, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    // Replay for a reconnecting event stream: the same (createdAt, id) keyset as the feed, oldest first
+    @Query("SELECT n.createdAt FROM Notification n WHERE n.id = :id AND n.user = :user")
+    Optional<LocalDateTime> findCreatedAtByIdAndUser(@Param("id") Long id, @Param("user") User user);
+
+    @Query("SELECT new com.university.gradessystem.dto.NotificationView(n.id, n.message, n.type, n.createdAt, "
+            + "n.read, c.title) "
+            + "FROM Notification n LEFT JOIN n.course c WHERE n.user = :user "
+            + "AND (n.createdAt > :createdAt OR (n.createdAt = :createdAt AND n.id > :id)) "
+            + "ORDER BY n.createdAt ASC, n.id ASC")
+    List<NotificationView> findFeedAfter(@Param("user") User user, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    // Set-based mutations: one statement each, however many rows match. All are scoped to the
+    // owning user so an id from someone else's inbox matches nothing.
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.user = :user AND n.read = false")
+    int markAsRead(@Param("id") Long id, @Param("user") User user);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user = :user AND n.read = false")
+    int markAllAsRead(@Param("user") User user);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user = :user AND n.course.id = :courseId AND n.read = false")
+    int markAsReadByCourse(@Param("user") User user, @Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.user = :user AND n.read = true")
+    int deleteRead(@Param("user") User user);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.user = :user AND n.createdAt < :cutoff")
+    int deleteOlderThan(@Param("user") User user, @Param("cutoff") LocalDateTime cutoff);
+
+    // Retention: ids of read notifications past the cutoff, deleted a chunk at a time
+    @Query("SELECT n.id FROM Notification n WHERE n.read = true AND n.createdAt < :cutoff ORDER BY n.id")
+    List<Long> findReadIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // Retention: user/course pairs with more than one notification of the given types to fold together
+    @Query("SELECT new com.university.gradessystem.dto.NotificationDigestGroup(n.user.id, n.course.id, "
+            + "MAX(n.createdAt), SUM(CASE WHEN n.read = false THEN 1 ELSE 0 END)) "
+            + "FROM Notification n WHERE n.type IN :types AND n.createdAt < :cutoff "
+            + "GROUP BY n.user.id, n.course.id HAVING COUNT(n) > 1 "
+            + "ORDER BY n.user.id, n.course.id")
+    List<NotificationDigestGroup> findDigestGroups(@Param("types") Collection<String> types,
+            @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.course.id = :courseId "
+            + "AND n.type IN :types AND n.createdAt < :cutoff")
+    int deleteDigestGroup(@Param("userId") Long userId, @Param("courseId") Long courseId,
+            @Param("types") Collection<String> types, @Param("cutoff") LocalDateTime cutoff);
 }
@@ -0,0 +1,16 @@
+package com.university.gradessystem.repository;
+
+import com.university.gradessystem.model.StudentAcademicSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StudentAcademicSummaryRepository extends JpaRepository<StudentAcademicSummary, Long> {
+
+    @Query("SELECT s FROM StudentAcademicSummary s LEFT JOIN FETCH s.courses WHERE s.studentId = :studentId")
+    Optional<StudentAcademicSummary> findWithCoursesByStudentId(@Param("studentId") Long studentId);
+}
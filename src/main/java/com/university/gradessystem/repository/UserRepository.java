@@ -1,12 +1,22 @@
 package com.university.gradessystem.repository;
 
+import com.university.gradessystem.dto.UserCountRow;
+import com.university.gradessystem.dto.UserSummary;
 import com.university.gradessystem.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -20,10 +30,38 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = 'ROLE_PROFESSOR'")
     long countProfessors();
+
+    @Query("SELECT new com.university.gradessystem.dto.UserCountRow(u.role, u.active, COUNT(u)) FROM User u "
+            + "GROUP BY u.role, u.active")
+    List<UserCountRow> countByRoleAndActive();
     
     List<User> findByRoleAndActive(User.Role role, boolean active);
     
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
+
+    @Query(value = "SELECT new com.university.gradessystem.dto.UserSummary(u.id, u.username, u.fullName, u.email, u.role, u.active) "
+            + "FROM User u",
+            countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserSummary> findUserSummaries(Pageable pageable);
+
+    @Query("SELECT new com.university.gradessystem.dto.UserSummary(u.id, u.username, u.fullName, u.email, u.role, u.active) "
+            + "FROM User u WHERE u.role = :role ORDER BY u.fullName")
+    List<UserSummary> findUserSummariesByRole(@Param("role") User.Role role);
+
+    // Keyset page of students: ids strictly after afterId, page size from the Pageable
+    @Query("SELECT new com.university.gradessystem.dto.UserSummary(u.id, u.username, u.fullName, u.email, u.role, u.active) "
+            + "FROM User u WHERE u.role = 'ROLE_STUDENT' AND u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findStudentSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.university.gradessystem.dto.UserSummary(u.id, u.username, u.fullName, u.email, u.role, u.active) "
+            + "FROM User u WHERE u.role = 'ROLE_STUDENT' AND u.username IN :usernames")
+    List<UserSummary> findStudentSummariesByUsernames(@Param("usernames") Collection<String> usernames);
+
+    // Whole-table export, read through a cursor; needs an open transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.university.gradessystem.dto.UserSummary(u.id, u.username, u.fullName, u.email, u.role, u.active) "
+            + "FROM User u ORDER BY u.id")
+    Stream<UserSummary> streamUserSummaries();
 }
@@ -0,0 +1,65 @@
+package com.university.gradessystem.service;
+
+import java.util.concurrent.RecursiveAction;
+
+// Reduces an enrollment scan ordered by student into per-student GPA.
+// Rows for one student are contiguous, so each task owns a disjoint range of students
+// and writes straight into the shared result arrays without synchronization.
+class CohortGpaCalculator extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int STUDENTS_PER_TASK = 256;
+
+    private final int[] studentOffsets;
+    private final int[] credits;
+    private final double[] scores;
+    private final CompiledGradeScale[] scales;
+    private final double[] gpaResults;
+    private final int[] creditResults;
+    private final int from;
+    private final int to;
+
+    CohortGpaCalculator(int[] studentOffsets, int[] credits, double[] scores,
+            CompiledGradeScale[] scales, double[] gpaResults, int[] creditResults, int from, int to) {
+        this.studentOffsets = studentOffsets;
+        this.credits = credits;
+        this.scores = scores;
+        this.scales = scales;
+        this.gpaResults = gpaResults;
+        this.creditResults = creditResults;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= STUDENTS_PER_TASK) {
+            for (int student = from; student < to; student++) {
+                reduceStudent(student);
+            }
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        invokeAll(
+                new CohortGpaCalculator(studentOffsets, credits, scores, scales, gpaResults, creditResults, from, mid),
+                new CohortGpaCalculator(studentOffsets, credits, scores, scales, gpaResults, creditResults, mid, to));
+    }
+
+    private void reduceStudent(int student) {
+        int start = studentOffsets[student];
+        int end = studentOffsets[student + 1];
+
+        double totalPoints = 0.0;
+        int totalCredits = 0;
+
+        for (int row = start; row < end; row++) {
+            totalPoints += scales[row].points(scores[row]) * credits[row];
+            totalCredits += credits[row];
+        }
+
+        gpaResults[student] = totalCredits > 0 ? totalPoints / totalCredits : 0.0;
+        creditResults[student] = totalCredits;
+    }
+}
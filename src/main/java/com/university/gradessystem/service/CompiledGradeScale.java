@@ -0,0 +1,128 @@
+package com.university.gradessystem.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Immutable lookup table compiled from a grade scale: ascending lower bounds with the letter and
+// GPA points of each band in parallel arrays, so a lookup is one binary search over doubles.
+//
+// The scale maps each letter to its minimum percentage. Letters earn 4, 3, 2, 1 points from the
+// top down; the lowest letter, and on longer scales every letter below the fourth (E on an A-E, F
+// scale), earns 0 and counts as failing. With plus/minus enabled each band that earns points is
+// split at 3/10 and 7/10 of its width into minus, plain and plus (30/40/30, +/-0.3 points, e.g.
+// B- 80-83, B 83-87, B+ 87-90); the top band gets no plus, so its plain part runs to 100. Scales
+// that already name +/- letters are used as given, and no band ever earns less than 0.
+public final class CompiledGradeScale {
+
+    private static final double PLUS_MINUS_POINTS = 0.3;
+
+    private final double[] lowerBounds;
+    private final String[] letters;
+    private final double[] points;
+
+    private CompiledGradeScale(double[] lowerBounds, String[] letters, double[] points) {
+        this.lowerBounds = lowerBounds;
+        this.letters = letters;
+        this.points = points;
+    }
+
+    // Returns null if the scale has no usable entries
+    static CompiledGradeScale compile(Map<String, Double> gradeScale, boolean includePlusMinus) {
+        List<Map.Entry<String, Double>> entries = new ArrayList<>();
+        if (gradeScale != null) {
+            for (Map.Entry<String, Double> entry : gradeScale.entrySet()) {
+                if (entry.getKey() != null && !entry.getKey().isBlank() && entry.getValue() != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+        if (entries.isEmpty()) {
+            return null;
+        }
+        entries.sort(Map.Entry.comparingByValue(Comparator.reverseOrder()));
+
+        boolean split = includePlusMinus
+                && entries.stream().noneMatch(entry -> entry.getKey().endsWith("+") || entry.getKey().endsWith("-"));
+
+        // Built from the top band down, then reversed into ascending order
+        List<Double> bounds = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        int lowest = entries.size() - 1;
+        for (int rank = 0; rank < entries.size(); rank++) {
+            String letter = entries.get(rank).getKey().trim();
+            double min = entries.get(rank).getValue();
+            double base = rank == lowest ? 0.0 : Math.max(0.0, 4.0 - rank);
+            double upper = rank == 0 ? 100.0 : entries.get(rank - 1).getValue();
+            double width = upper - min;
+
+            if (split && base > 0 && width > 0) {
+                if (rank != 0) {
+                    addBand(bounds, names, values, min + width * 7 / 10, letter + "+", base + PLUS_MINUS_POINTS);
+                }
+                addBand(bounds, names, values, min + width * 3 / 10, letter, base);
+                addBand(bounds, names, values, min, letter + "-",
+                        Math.max(0.0, base - PLUS_MINUS_POINTS));
+            } else {
+                addBand(bounds, names, values, min, letter, base);
+            }
+        }
+        Collections.reverse(bounds);
+        Collections.reverse(names);
+        Collections.reverse(values);
+
+        // Two letters with the same minimum: the higher one wins
+        int size = 0;
+        double[] lowerBounds = new double[bounds.size()];
+        String[] letters = new String[bounds.size()];
+        double[] points = new double[bounds.size()];
+        for (int i = 0; i < bounds.size(); i++) {
+            if (size > 0 && lowerBounds[size - 1] == bounds.get(i)) {
+                size--;
+            }
+            lowerBounds[size] = bounds.get(i);
+            letters[size] = names.get(i);
+            points[size] = values.get(i);
+            size++;
+        }
+        return new CompiledGradeScale(Arrays.copyOf(lowerBounds, size), Arrays.copyOf(letters, size),
+                Arrays.copyOf(points, size));
+    }
+
+    public String letter(double score) {
+        return letters[band(score)];
+    }
+
+    public double points(double score) {
+        return points[band(score)];
+    }
+
+    // Highest first
+    public List<String> letters() {
+        List<String> ordered = new ArrayList<>(Arrays.asList(letters));
+        Collections.reverse(ordered);
+        return ordered;
+    }
+
+    // Scores below the lowest minimum (or NaN) fall into the lowest band
+    private int band(double score) {
+        // binarySearch orders NaN above every bound
+        if (Double.isNaN(score)) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(lowerBounds, score);
+        int band = index >= 0 ? index : -index - 2;
+        return band < 0 ? 0 : band;
+    }
+
+    private static void addBand(List<Double> bounds, List<String> names, List<Double> values, double lowerBound,
+            String letter, double points) {
+        bounds.add(lowerBound);
+        names.add(letter);
+        values.add(points);
+    }
+}
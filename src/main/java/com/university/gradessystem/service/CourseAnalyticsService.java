@@ -0,0 +1,121 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.dto.AssignmentStatistics;
+import com.university.gradessystem.dto.CourseAnalytics;
+import com.university.gradessystem.dto.GradebookCell;
+import com.university.gradessystem.dto.ScoreStatistics;
+import com.university.gradessystem.model.Course;
+import com.university.gradessystem.repository.GradeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Course dashboard statistics computed in one pass over the gradebook projection (one row per
+// grade, carrying the enrollment's current weighted grade). Results are cached per course and
+// dropped after commit whenever grades or enrollments of the course change, or a grade policy is saved.
+@Service
+public class CourseAnalyticsService {
+
+    private final GradeRepository gradeRepository;
+    private final GradingEngine gradingEngine;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ConcurrentMap<Long, CourseAnalytics> cache = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a result computed across one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CourseAnalyticsService(GradeRepository gradeRepository, GradingEngine gradingEngine,
+            PlatformTransactionManager transactionManager) {
+        this.gradeRepository = gradeRepository;
+        this.gradingEngine = gradingEngine;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public CourseAnalytics getAnalytics(Course course) {
+        CourseAnalytics cached = cache.get(course.getId());
+        if (cached != null) {
+            return cached;
+        }
+
+        long before = invalidations.get();
+        CourseAnalytics analytics = readOnlyTransaction.execute(status -> compute(course));
+        if (invalidations.get() == before) {
+            cache.put(course.getId(), analytics);
+            // An invalidation that slipped in between the check and the put wins
+            if (invalidations.get() != before) {
+                cache.remove(course.getId(), analytics);
+            }
+        }
+        return analytics;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentRecordsChanged(StudentRecordsChangedEvent event) {
+        invalidations.incrementAndGet();
+        event.courseIds().forEach(cache::remove);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradePolicySaved(GradePolicySavedEvent event) {
+        invalidations.incrementAndGet();
+        cache.clear();
+    }
+
+    private CourseAnalytics compute(Course course) {
+        List<String> assignmentNames = gradeRepository.findAssignmentNamesByCourseId(course.getId());
+        Map<String, ScoreAccumulator> byAssignment = new HashMap<>();
+        ScoreAccumulator studentGrades = new ScoreAccumulator();
+        CompiledGradeScale scale = gradingEngine.scaleFor(course);
+
+        Map<String, Integer> gradeDistribution = new LinkedHashMap<>();
+        for (String letter : scale.letters()) {
+            gradeDistribution.put(letter, 0);
+        }
+
+        int totalStudents = 0;
+        Long currentEnrollment = null;
+        try (Stream<GradebookCell> cells = gradeRepository.streamGradebookCells(course.getId())) {
+            for (GradebookCell cell : (Iterable<GradebookCell>) cells::iterator) {
+                if (!cell.enrollmentId().equals(currentEnrollment)) {
+                    currentEnrollment = cell.enrollmentId();
+                    totalStudents++;
+                    if (cell.currentGrade() != null) {
+                        studentGrades.add(cell.currentGrade());
+                        gradeDistribution.merge(scale.letter(cell.currentGrade()), 1, Integer::sum);
+                    }
+                }
+                if (cell.assignmentName() != null && cell.score() != null) {
+                    byAssignment.computeIfAbsent(cell.assignmentName(), name -> new ScoreAccumulator())
+                            .add(cell.score());
+                }
+            }
+        }
+
+        List<AssignmentStatistics> assignments = new ArrayList<>(byAssignment.size());
+        for (String name : assignmentNames) {
+            ScoreAccumulator scores = byAssignment.remove(name);
+            if (scores != null) {
+                assignments.add(new AssignmentStatistics(name, scores.summarize()));
+            }
+        }
+        // Graded after the names were read
+        byAssignment.forEach((name, scores) -> assignments.add(new AssignmentStatistics(name, scores.summarize())));
+
+        ScoreStatistics statistics = studentGrades.summarize();
+        return new CourseAnalytics(course.getId(), totalStudents, studentGrades.count(),
+                statistics != null ? statistics.mean() : null, statistics, gradeDistribution, assignments,
+                LocalDateTime.now());
+    }
+}
@@ -1,11 +1,17 @@
 package com.university.gradessystem.service;
 
+import com.university.gradessystem.dto.CourseCountReport;
+import com.university.gradessystem.dto.CourseCountRow;
+import com.university.gradessystem.dto.CourseSummary;
 import com.university.gradessystem.model.Course;
 import com.university.gradessystem.model.GradePolicy;
 import com.university.gradessystem.model.User;
 import com.university.gradessystem.repository.CourseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,15 +19,18 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 public class CourseService {
 
     private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private EnrollmentService enrollmentService;
 
-    public CourseService(CourseRepository courseRepository) {
+    public CourseService(CourseRepository courseRepository, ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Autowired
@@ -38,10 +47,22 @@ public class CourseService {
         return courseRepository.findByActive(true);
     }
 
+    public Page<CourseSummary> getCourseSummaries(Pageable pageable) {
+        return courseRepository.findCourseSummaries(pageable);
+    }
+
+    public List<CourseSummary> getActiveCourseSummaries() {
+        return courseRepository.findActiveCourseSummaries();
+    }
+
     public Optional<Course> getCourseById(Long id) {
         return courseRepository.findById(id);
     }
 
+    public Optional<Course> getCourseByIdAndProfessor(Long id, User professor) {
+        return courseRepository.findByIdAndProfessor(id, professor);
+    }
+
     public List<Course> getCoursesByProfessor(User professor) {
         return courseRepository.findByProfessor(professor);
     }
@@ -60,29 +81,26 @@ public class CourseService {
 
     @Transactional
     public Course createCourse(Course course) {
+        // Counters start empty (the columns are not inserted) regardless of what the client sent
+        course.setEnrolledCount(0);
+        course.setWaitlistedCount(0);
+
         // Initialize grade policy with default values if not set
         if (course.getGradePolicy() == null) {
             GradePolicy policy = new GradePolicy();
 
-            // Set default grade scale
-            Map<String, Double> defaultScale = new HashMap<>();
-            defaultScale.put("A", 90.0);
-            defaultScale.put("B", 80.0);
-            defaultScale.put("C", 70.0);
-            defaultScale.put("D", 60.0);
-            defaultScale.put("F", 0.0);
-
-            policy.setGradeScale(defaultScale);
+            // Same scale the grading engine applies to courses without a policy
+            policy.setGradeScale(GradingEngine.defaultGradeScale());
             course.setGradePolicy(policy);
             policy.setCourse(course);
         }
 
-        return courseRepository.save(course);
+        return saveWithPolicy(course);
     }
 
     @Transactional
     public Course updateCourse(Course course) {
-        return courseRepository.save(course);
+        return saveWithPolicy(course);
     }
 
     @Transactional
@@ -106,10 +124,40 @@ public class CourseService {
         });
     }
 
+    // The policy may have been replaced or edited along with the course
+    private Course saveWithPolicy(Course course) {
+        Course saved = courseRepository.save(course);
+        if (saved.getGradePolicy() != null && saved.getGradePolicy().getId() != null) {
+            eventPublisher.publishEvent(new GradePolicySavedEvent(saved.getGradePolicy().getId()));
+        }
+        return saved;
+    }
+
     public long countActiveCourses() {
         return courseRepository.countActiveCourses();
     }
 
+    // One grouped count instead of loading every course; courses without a department are listed
+    // under "Not Assigned"
+    public CourseCountReport getCourseCountReport() {
+        Map<String, Long> coursesByDepartment = new TreeMap<>();
+        Map<String, Long> activeCoursesByDepartment = new TreeMap<>();
+        long totalCourses = 0;
+        long activeCourses = 0;
+        for (CourseCountRow row : courseRepository.countByDepartmentAndActive()) {
+            String department = row.department() != null && !row.department().isBlank()
+                    ? row.department()
+                    : "Not Assigned";
+            totalCourses += row.courses();
+            coursesByDepartment.merge(department, row.courses(), Long::sum);
+            if (row.active()) {
+                activeCourses += row.courses();
+                activeCoursesByDepartment.merge(department, row.courses(), Long::sum);
+            }
+        }
+        return new CourseCountReport(totalCourses, activeCourses, coursesByDepartment, activeCoursesByDepartment);
+    }
+
     public long countEnrolledStudents(Course course) {
         if (enrollmentService != null) {
             return enrollmentService.countEnrolledStudents(course);
@@ -119,13 +167,15 @@ public class CourseService {
 
     public Map<Long, Long> getEnrollmentStatsByCourseIds(List<Long> courseIds) {
         Map<Long, Long> stats = new HashMap<>();
-        if (enrollmentService != null) {
-            for (Long id : courseIds) {
-                courseRepository.findById(id).ifPresent(course -> {
-                    stats.put(id, enrollmentService.countEnrolledStudents(course));
-                });
-            }
+        for (Course course : courseRepository.findAllById(courseIds)) {
+            stats.put(course.getId(), (long) course.getEnrolledCount());
         }
         return stats;
     }
+
+    // Recomputes every course's enrolled/waitlisted counters from the enrollments table
+    @Transactional
+    public int reconcileEnrollmentCounts() {
+        return courseRepository.reconcileEnrollmentCounts();
+    }
 }
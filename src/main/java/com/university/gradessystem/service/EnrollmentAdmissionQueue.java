@@ -0,0 +1,254 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.dto.AdmissionQueueStats;
+import com.university.gradessystem.model.Enrollment;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Admission layer in front of EnrollmentService for registration rushes. Requests are queued per
+// course and a course is drained by at most one worker at a time, taking up to batchSize requests
+// per transaction. Enrollments for the same course therefore never contend with each other for
+// the course row, and the fixed worker pool caps how many connections enrollment can hold.
+// Each course queue is bounded (overflow is rejected right away), a caller stops waiting after
+// timeoutMillis, and a course's queue is dropped once a drain leaves it empty.
+@Service
+public class EnrollmentAdmissionQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentAdmissionQueue.class);
+
+    private final EnrollmentService enrollmentService;
+    private final int workers;
+    private final int batchSize;
+    private final int maxQueueDepth;
+    private final long timeoutMillis;
+    private final ExecutorService executor;
+    private final ConcurrentMap<Long, CourseQueue> queues = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder dequeued = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public EnrollmentAdmissionQueue(EnrollmentService enrollmentService,
+            @Value("${gradessystem.admission.workers:4}") int workers,
+            @Value("${gradessystem.admission.batch-size:50}") int batchSize,
+            @Value("${gradessystem.admission.max-queue-depth:1000}") int maxQueueDepth,
+            @Value("${gradessystem.admission.timeout-ms:20000}") long timeoutMillis) {
+        this.enrollmentService = enrollmentService;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxQueueDepth = maxQueueDepth;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "enrollment-admission-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Fails with RejectedExecutionException when the course queue is full and with
+    // TimeoutException when the enrollment is not done within timeoutMillis; a timed-out
+    // request is still admitted later, only the caller no longer waits for it
+    public CompletableFuture<Enrollment> submit(Long studentId, Long courseId) {
+        AdmissionRequest request = new AdmissionRequest(studentId, System.nanoTime(), new CompletableFuture<>());
+        boolean[] accepted = { false };
+        // Enqueued inside compute so it cannot race the removal of an idle queue
+        CourseQueue queue = queues.compute(courseId, (id, current) -> {
+            CourseQueue target = current != null ? current : new CourseQueue();
+            if (target.depth.get() < maxQueueDepth) {
+                target.pending.add(request);
+                target.depth.incrementAndGet();
+                accepted[0] = true;
+            }
+            return target;
+        });
+
+        if (!accepted[0]) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Enrollment for this course is busy, please try again shortly"));
+        }
+        submitted.increment();
+        scheduleDrain(courseId, queue);
+        return request.result()
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((enrollment, error) -> {
+                    if (error instanceof TimeoutException) {
+                        timedOut.increment();
+                    }
+                });
+    }
+
+    public AdmissionQueueStats getStats() {
+        Map<Long, Integer> pendingByCourse = new TreeMap<>();
+        long pending = 0;
+        for (Map.Entry<Long, CourseQueue> entry : queues.entrySet()) {
+            int depth = entry.getValue().depth.get();
+            if (depth > 0) {
+                pendingByCourse.put(entry.getKey(), depth);
+                pending += depth;
+            }
+        }
+
+        long batchCount = batches.sum();
+        long dequeuedCount = dequeued.sum();
+        return new AdmissionQueueStats(
+                workers,
+                batchSize,
+                pending,
+                pendingByCourse,
+                submitted.sum(),
+                completed.sum(),
+                failed.sum(),
+                rejected.sum(),
+                timedOut.sum(),
+                batchCount,
+                batchCount > 0 ? (double) dequeuedCount / batchCount : 0.0,
+                dequeuedCount > 0 ? totalWaitNanos.sum() / 1_000_000.0 / dequeuedCount : 0.0,
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void scheduleDrain(Long courseId, CourseQueue queue) {
+        if (!queue.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> drain(courseId, queue));
+        } catch (RejectedExecutionException e) {
+            queue.draining.set(false);
+            List<AdmissionRequest> rejected;
+            while (!(rejected = pollBatch(queue)).isEmpty()) {
+                rejected.forEach(request -> fail(request, e));
+            }
+        }
+    }
+
+    // Admits one batch and then hands the course back to the pool, so a single busy course
+    // cannot keep a worker to itself while other courses are waiting
+    private void drain(Long courseId, CourseQueue queue) {
+        try {
+            List<AdmissionRequest> batch = pollBatch(queue);
+            if (!batch.isEmpty()) {
+                admit(courseId, batch);
+            }
+        } catch (RuntimeException e) {
+            log.error("Enrollment admission failed for course {}", courseId, e);
+        } finally {
+            queue.draining.set(false);
+        }
+
+        // Requests that arrived after the poll are picked up here. An idle course is forgotten;
+        // anything enqueued from now on schedules its own drain.
+        if (!queue.pending.isEmpty()) {
+            scheduleDrain(courseId, queue);
+        } else {
+            queues.computeIfPresent(courseId, (id, current) -> current == queue && current.pending.isEmpty()
+                    && !current.draining.get() ? null : current);
+        }
+    }
+
+    private List<AdmissionRequest> pollBatch(CourseQueue queue) {
+        List<AdmissionRequest> batch = new ArrayList<>();
+        AdmissionRequest request;
+        while (batch.size() < batchSize && (request = queue.pending.poll()) != null) {
+            queue.depth.decrementAndGet();
+            batch.add(request);
+        }
+        return batch;
+    }
+
+    private void admit(Long courseId, List<AdmissionRequest> batch) {
+        long now = System.nanoTime();
+        for (AdmissionRequest request : batch) {
+            long waitNanos = now - request.enqueuedAt();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+        batches.increment();
+        dequeued.add(batch.size());
+
+        List<Long> studentIds = batch.stream().map(AdmissionRequest::studentId).distinct().toList();
+        Map<Long, Enrollment> enrollments;
+        try {
+            enrollments = enrollmentService.enrollStudentsInCourse(courseId, studentIds);
+        } catch (IllegalArgumentException e) {
+            batch.forEach(request -> fail(request, e));
+            return;
+        } catch (RuntimeException e) {
+            // Usually a concurrent write from outside the queue (e.g. an admin enrolling the same
+            // student); the single-request path retries and resolves duplicates on its own
+            log.debug("Batch enrollment for course {} failed, retrying {} requests individually",
+                    courseId, batch.size(), e);
+            for (AdmissionRequest request : batch) {
+                try {
+                    complete(request, enrollmentService.enrollStudent(request.studentId(), courseId));
+                } catch (RuntimeException ex) {
+                    fail(request, ex);
+                }
+            }
+            return;
+        }
+
+        for (AdmissionRequest request : batch) {
+            Enrollment enrollment = enrollments.get(request.studentId());
+            if (enrollment != null) {
+                complete(request, enrollment);
+            } else {
+                fail(request, new IllegalArgumentException("Student not found"));
+            }
+        }
+    }
+
+    private void complete(AdmissionRequest request, Enrollment enrollment) {
+        completed.increment();
+        request.result().complete(enrollment);
+    }
+
+    private void fail(AdmissionRequest request, Throwable error) {
+        failed.increment();
+        request.result().completeExceptionally(error);
+    }
+
+    private record AdmissionRequest(Long studentId, long enqueuedAt, CompletableFuture<Enrollment> result) {
+    }
+
+    private static final class CourseQueue {
+        private final Queue<AdmissionRequest> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,255 @@
+package com.university.gradessystem.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.gradessystem.dto.EnrollmentImportError;
+import com.university.gradessystem.dto.EnrollmentImportResult;
+import com.university.gradessystem.dto.EnrollmentImportRow;
+import com.university.gradessystem.dto.StudentCourseKey;
+import com.university.gradessystem.dto.UserSummary;
+import com.university.gradessystem.model.Course;
+import com.university.gradessystem.model.Enrollment;
+import com.university.gradessystem.model.User;
+import com.university.gradessystem.report.CsvReader;
+import com.university.gradessystem.repository.CourseRepository;
+import com.university.gradessystem.repository.EnrollmentRepository;
+import com.university.gradessystem.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Bulk enrollment import. Rows are parsed up front, every username and course code is resolved
+// with a handful of IN queries, seats are allocated per course in aggregate, and the enrollments
+// are written with JDBC batching in one transaction. Bad rows are reported and skipped.
+@Service
+public class EnrollmentImportService {
+
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    // Multiple of hibernate.jdbc.batch_size; bounds the persistence context during large imports
+    private static final int FLUSH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EnrollmentImportService(UserRepository userRepository,
+            CourseRepository courseRepository,
+            EnrollmentRepository enrollmentRepository,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    // studentUsername,courseCode per line; a header line with those names is skipped
+    public EnrollmentImportResult importCsv(InputStream input) throws IOException {
+        long start = System.nanoTime();
+        List<EnrollmentImportRow> rows = new ArrayList<>();
+
+        CsvReader reader = new CsvReader(input);
+        List<String> fields;
+        while ((fields = reader.readRecord()) != null) {
+            String studentUsername = fields.get(0).trim();
+            String courseCode = fields.size() > 1 ? fields.get(1).trim() : "";
+            if (fields.size() == 1 && studentUsername.isEmpty()) {
+                continue;
+            }
+            int lineNumber = reader.getRecordLine();
+            if (lineNumber == 1 && studentUsername.equalsIgnoreCase("studentUsername")) {
+                continue;
+            }
+            rows.add(new EnrollmentImportRow(lineNumber, studentUsername, courseCode));
+        }
+
+        return importRows(rows, start);
+    }
+
+    // A JSON array of {"studentUsername": ..., "courseCode": ...} objects, read incrementally
+    public EnrollmentImportResult importJson(InputStream input) throws IOException {
+        long start = System.nanoTime();
+        List<EnrollmentImportRow> rows = new ArrayList<>();
+
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of {studentUsername, courseCode} objects");
+            }
+            int index = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode node = parser.readValueAsTree();
+                rows.add(new EnrollmentImportRow(++index,
+                        node.path("studentUsername").asText("").trim(),
+                        node.path("courseCode").asText("").trim()));
+            }
+        }
+
+        return importRows(rows, start);
+    }
+
+    private EnrollmentImportResult importRows(List<EnrollmentImportRow> rows, long startNanos) {
+        ImportTally tally = new ImportTally();
+        transactionTemplate.executeWithoutResult(status -> writeEnrollments(rows, tally));
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return new EnrollmentImportResult(
+                rows.size(),
+                tally.enrolled,
+                tally.waitlisted,
+                tally.failed,
+                tally.errors,
+                elapsedNanos / 1_000_000,
+                seconds > 0 ? Math.round(rows.size() / seconds * 10.0) / 10.0 : rows.size());
+    }
+
+    private void writeEnrollments(List<EnrollmentImportRow> rows, ImportTally tally) {
+        Map<String, Long> studentIds = new HashMap<>();
+        Set<String> usernames = rows.stream().map(EnrollmentImportRow::studentUsername)
+                .filter(username -> !username.isEmpty()).collect(Collectors.toSet());
+        for (List<String> chunk : chunks(usernames)) {
+            for (UserSummary student : userRepository.findStudentSummariesByUsernames(chunk)) {
+                studentIds.put(student.username(), student.id());
+            }
+        }
+
+        // Course rows stay locked until commit so seat counts cannot change underneath the import
+        Map<String, CourseSeats> courses = new HashMap<>();
+        Set<String> courseCodes = rows.stream().map(EnrollmentImportRow::courseCode)
+                .filter(code -> !code.isEmpty()).collect(Collectors.toSet());
+        for (List<String> chunk : chunks(courseCodes)) {
+            for (Course course : courseRepository.findByCourseCodesForUpdate(chunk)) {
+                courses.put(course.getCourseCode(), new CourseSeats(course));
+            }
+        }
+
+        Set<StudentCourseKey> taken = new HashSet<>();
+        if (!studentIds.isEmpty() && !courses.isEmpty()) {
+            List<Long> courseIds = courses.values().stream().map(seats -> seats.courseId).toList();
+            for (List<Long> chunk : chunks(studentIds.values())) {
+                taken.addAll(enrollmentRepository.findStudentCourseKeys(chunk, courseIds));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> enrolledStudents = new HashSet<>();
+        int pending = 0;
+        for (EnrollmentImportRow row : rows) {
+            if (row.studentUsername().isEmpty() || row.courseCode().isEmpty()) {
+                tally.reject(row, "studentUsername and courseCode are required");
+                continue;
+            }
+            Long studentId = studentIds.get(row.studentUsername());
+            if (studentId == null) {
+                tally.reject(row, "Unknown student: " + row.studentUsername());
+                continue;
+            }
+            CourseSeats seats = courses.get(row.courseCode());
+            if (seats == null) {
+                tally.reject(row, "Unknown course: " + row.courseCode());
+                continue;
+            }
+            if (!taken.add(new StudentCourseKey(studentId, seats.courseId))) {
+                tally.reject(row, row.studentUsername() + " is already enrolled in " + row.courseCode());
+                continue;
+            }
+
+            Enrollment enrollment = new Enrollment();
+            enrollment.setStudent(entityManager.getReference(User.class, studentId));
+            enrollment.setCourse(entityManager.getReference(Course.class, seats.courseId));
+            enrollment.setEnrollmentDate(now);
+            if (seats.freeSeats > 0) {
+                enrollment.setStatus(Enrollment.EnrollmentStatus.ENROLLED);
+                seats.freeSeats--;
+                seats.enrolled++;
+                tally.enrolled++;
+            } else {
+                enrollment.setStatus(Enrollment.EnrollmentStatus.WAITLISTED);
+                seats.waitlisted++;
+                tally.waitlisted++;
+            }
+            entityManager.persist(enrollment);
+            enrolledStudents.add(studentId);
+
+            if (++pending % FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        for (CourseSeats seats : courses.values()) {
+            if (seats.enrolled > 0 || seats.waitlisted > 0) {
+                courseRepository.adjustEnrollmentCounts(seats.courseId, seats.enrolled, seats.waitlisted);
+            }
+        }
+        if (!enrolledStudents.isEmpty()) {
+            eventPublisher.publishEvent(new StudentRecordsChangedEvent(enrolledStudents, courses.values().stream()
+                    .filter(seats -> seats.enrolled > 0 || seats.waitlisted > 0)
+                    .map(seats -> seats.courseId).toList()));
+        }
+    }
+
+    private static <T> List<List<T>> chunks(Collection<T> values) {
+        List<T> list = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += LOOKUP_CHUNK_SIZE) {
+            chunks.add(list.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, list.size())));
+        }
+        return chunks;
+    }
+
+    private static final class CourseSeats {
+        private final Long courseId;
+        private int freeSeats;
+        private int enrolled;
+        private int waitlisted;
+
+        private CourseSeats(Course course) {
+            this.courseId = course.getId();
+            this.freeSeats = course.getCapacity() == null ? Integer.MAX_VALUE
+                    : Math.max(0, course.getCapacity() - course.getEnrolledCount());
+        }
+    }
+
+    private static final class ImportTally {
+        private final List<EnrollmentImportError> errors = new ArrayList<>();
+        private int enrolled;
+        private int waitlisted;
+        private int failed;
+
+        private void reject(EnrollmentImportRow row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new EnrollmentImportError(row.rowNumber(), message));
+            }
+        }
+    }
+}
@@ -1,37 +1,60 @@
 package com.university.gradessystem.service;
 
+import com.university.gradessystem.dto.EnrollmentSummary;
 import com.university.gradessystem.model.Course;
 import com.university.gradessystem.model.Enrollment;
 import com.university.gradessystem.model.User;
 import com.university.gradessystem.repository.CourseRepository;
 import com.university.gradessystem.repository.EnrollmentRepository;
 import com.university.gradessystem.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class EnrollmentService {
 
+    private static final int MAX_ENROLL_ATTEMPTS = 3;
+    private static final int WAITLIST_SCAN_SIZE = 10;
+
     private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EnrollmentService(EnrollmentRepository enrollmentRepository,
             CourseRepository courseRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher) {
         this.enrollmentRepository = enrollmentRepository;
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Enrollment> getAllEnrollments() {
         return enrollmentRepository.findAll();
     }
 
+    public List<EnrollmentSummary> getEnrollmentSummariesAfter(Long afterId, int size) {
+        return enrollmentRepository.findEnrollmentSummariesAfter(afterId, PageRequest.of(0, size));
+    }
+
     public Optional<Enrollment> getEnrollmentById(Long id) {
         return enrollmentRepository.findById(id);
     }
@@ -44,6 +67,10 @@ public class EnrollmentService {
         return enrollmentRepository.findByCourse(course);
     }
 
+    public List<Enrollment> getEnrollmentsWithStudentByCourse(Course course) {
+        return enrollmentRepository.findWithStudentByCourse(course);
+    }
+
     public Optional<Enrollment> getEnrollmentByStudentAndCourse(User student, Course course) {
         return enrollmentRepository.findByStudentAndCourse(student, course);
     }
@@ -56,8 +83,26 @@ public class EnrollmentService {
         return enrollmentRepository.countEnrolledStudents(course);
     }
 
-    @Transactional
+    public List<Long> getEnrolledCourseIds(User student) {
+        return enrollmentRepository.findCourseIdsByStudent(student);
+    }
+
+    // Each attempt runs in its own transaction. Lock timeouts under contention and a concurrent
+    // duplicate insert (unique student/course constraint) roll the attempt back and retry; the
+    // retry then either reserves a seat or returns the enrollment the other request created.
     public Enrollment enrollStudent(Long studentId, Long courseId) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> doEnrollStudent(studentId, courseId));
+            } catch (PessimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (attempt >= MAX_ENROLL_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Enrollment doEnrollStudent(Long studentId, Long courseId) {
         User student = userRepository.findById(studentId)
                 .orElseThrow(() -> new IllegalArgumentException("Student not found"));
 
@@ -70,43 +115,161 @@ public class EnrollmentService {
             return existingEnrollment.get();
         }
 
-        // Check if course has capacity
-        long enrolledCount = enrollmentRepository.countEnrolledStudents(course);
-
         Enrollment enrollment = new Enrollment();
         enrollment.setStudent(student);
         enrollment.setCourse(course);
         enrollment.setEnrollmentDate(LocalDateTime.now());
 
-        // If course is at capacity, waitlist the student
-        if (course.getCapacity() != null && enrolledCount >= course.getCapacity()) {
-            enrollment.setStatus(Enrollment.EnrollmentStatus.WAITLISTED);
-        } else {
+        // Take a seat with a conditional UPDATE so capacity holds under concurrent requests;
+        // if the course is full, waitlist the student
+        if (courseRepository.reserveSeat(courseId) == 1) {
             enrollment.setStatus(Enrollment.EnrollmentStatus.ENROLLED);
+        } else {
+            enrollment.setStatus(Enrollment.EnrollmentStatus.WAITLISTED);
+            courseRepository.adjustEnrollmentCounts(courseId, 0, 1);
         }
 
-        return enrollmentRepository.save(enrollment);
+        // Flush now so a duplicate enrollment fails inside this attempt
+        Enrollment saved = enrollmentRepository.saveAndFlush(enrollment);
+        eventPublisher.publishEvent(StudentRecordsChangedEvent.of(studentId, courseId));
+        return saved;
+    }
+
+    // Enrolls several students into one course in a single transaction: the course row is locked
+    // once, free seats go to the students in list order and the rest are waitlisted, and the
+    // counters are moved with one UPDATE. Returns the enrollment per student id, including ones
+    // that already existed; unknown student ids are left out.
+    @Transactional
+    public Map<Long, Enrollment> enrollStudentsInCourse(Long courseId, List<Long> studentIds) {
+        Course course = courseRepository.findByIdForUpdate(courseId)
+                .orElseThrow(() -> new IllegalArgumentException("Course not found"));
+
+        Map<Long, Enrollment> enrollments = new HashMap<>();
+        for (Enrollment existing : enrollmentRepository.findByCourseIdAndStudentIds(courseId, studentIds)) {
+            enrollments.put(existing.getStudent().getId(), existing);
+        }
+
+        Map<Long, User> students = new HashMap<>();
+        userRepository.findAllById(studentIds).forEach(student -> students.put(student.getId(), student));
+
+        int freeSeats = course.getCapacity() == null ? Integer.MAX_VALUE
+                : Math.max(0, course.getCapacity() - course.getEnrolledCount());
+        int enrolled = 0;
+        int waitlisted = 0;
+        LocalDateTime now = LocalDateTime.now();
+        List<Enrollment> created = new ArrayList<>();
+
+        for (Long studentId : studentIds) {
+            User student = students.get(studentId);
+            if (student == null || enrollments.containsKey(studentId)) {
+                continue;
+            }
+
+            Enrollment enrollment = new Enrollment();
+            enrollment.setStudent(student);
+            enrollment.setCourse(course);
+            enrollment.setEnrollmentDate(now);
+            if (enrolled < freeSeats) {
+                enrollment.setStatus(Enrollment.EnrollmentStatus.ENROLLED);
+                enrolled++;
+            } else {
+                enrollment.setStatus(Enrollment.EnrollmentStatus.WAITLISTED);
+                waitlisted++;
+            }
+            created.add(enrollment);
+            enrollments.put(studentId, enrollment);
+        }
+
+        enrollmentRepository.saveAll(created);
+        if (enrolled > 0 || waitlisted > 0) {
+            courseRepository.adjustEnrollmentCounts(courseId, enrolled, waitlisted);
+            eventPublisher.publishEvent(new StudentRecordsChangedEvent(
+                    created.stream().map(enrollment -> enrollment.getStudent().getId()).toList(), List.of(courseId)));
+        }
+        return enrollments;
     }
 
     @Transactional
     public void dropEnrollment(Long enrollmentId) {
         enrollmentRepository.findById(enrollmentId).ifPresent(enrollment -> {
-            enrollment.setStatus(Enrollment.EnrollmentStatus.DROPPED);
-            enrollmentRepository.save(enrollment);
+            Enrollment.EnrollmentStatus previousStatus = enrollment.getStatus();
+            if (enrollmentRepository.changeStatus(enrollmentId, previousStatus,
+                    Enrollment.EnrollmentStatus.DROPPED) == 0) {
+                return;
+            }
+            updateCourseCounters(enrollment.getCourse().getId(), previousStatus,
+                    Enrollment.EnrollmentStatus.DROPPED);
+            eventPublisher.publishEvent(StudentRecordsChangedEvent.of(enrollment.getStudent().getId(),
+                    enrollment.getCourse().getId()));
+
+            if (previousStatus == Enrollment.EnrollmentStatus.ENROLLED) {
+                promoteFromWaitlist(enrollment.getCourse().getId());
+            }
         });
     }
 
+    // Hands a freed seat to the longest-waiting student. The seat is reserved first so a
+    // concurrent enrollment cannot take it twice; if nobody is left to promote it is released.
+    private void promoteFromWaitlist(Long courseId) {
+        if (courseRepository.reserveSeat(courseId) == 0) {
+            return;
+        }
+
+        for (Enrollment candidate : enrollmentRepository.findWaitlistQueue(courseId,
+                PageRequest.of(0, WAITLIST_SCAN_SIZE))) {
+            if (enrollmentRepository.promoteFromWaitlist(candidate.getId()) == 1) {
+                courseRepository.adjustEnrollmentCounts(courseId, 0, -1);
+                eventPublisher.publishEvent(StudentRecordsChangedEvent.of(candidate.getStudent().getId(), courseId));
+                return;
+            }
+        }
+
+        courseRepository.adjustEnrollmentCounts(courseId, -1, 0);
+    }
+
     @Transactional
     public void completeEnrollment(Long enrollmentId) {
         enrollmentRepository.findById(enrollmentId).ifPresent(enrollment -> {
-            enrollment.setStatus(Enrollment.EnrollmentStatus.COMPLETED);
-            enrollmentRepository.save(enrollment);
+            Enrollment.EnrollmentStatus previousStatus = enrollment.getStatus();
+            if (enrollmentRepository.changeStatus(enrollmentId, previousStatus,
+                    Enrollment.EnrollmentStatus.COMPLETED) == 0) {
+                return;
+            }
+            updateCourseCounters(enrollment.getCourse().getId(), previousStatus,
+                    Enrollment.EnrollmentStatus.COMPLETED);
+            eventPublisher.publishEvent(StudentRecordsChangedEvent.of(enrollment.getStudent().getId(),
+                    enrollment.getCourse().getId()));
         });
     }
 
     @Transactional
     public void deleteEnrollment(Long id) {
-        enrollmentRepository.deleteById(id);
+        enrollmentRepository.findById(id).ifPresent(enrollment -> {
+            enrollmentRepository.delete(enrollment);
+            updateCourseCounters(enrollment.getCourse().getId(), enrollment.getStatus(), null);
+            eventPublisher.publishEvent(StudentRecordsChangedEvent.of(enrollment.getStudent().getId(),
+                    enrollment.getCourse().getId()));
+
+            if (enrollment.getStatus() == Enrollment.EnrollmentStatus.ENROLLED) {
+                promoteFromWaitlist(enrollment.getCourse().getId());
+            }
+        });
+    }
+
+    // Applies a status transition to the course's enrolled/waitlisted counters with a single
+    // atomic UPDATE; a null status stands for "no enrollment row"
+    private void updateCourseCounters(Long courseId, Enrollment.EnrollmentStatus from,
+            Enrollment.EnrollmentStatus to) {
+        int enrolledDelta = counterDelta(Enrollment.EnrollmentStatus.ENROLLED, from, to);
+        int waitlistedDelta = counterDelta(Enrollment.EnrollmentStatus.WAITLISTED, from, to);
+        if (enrolledDelta != 0 || waitlistedDelta != 0) {
+            courseRepository.adjustEnrollmentCounts(courseId, enrolledDelta, waitlistedDelta);
+        }
+    }
+
+    private static int counterDelta(Enrollment.EnrollmentStatus counted, Enrollment.EnrollmentStatus from,
+            Enrollment.EnrollmentStatus to) {
+        return (to == counted ? 1 : 0) - (from == counted ? 1 : 0);
     }
 
     public long countEnrollments(User student) {
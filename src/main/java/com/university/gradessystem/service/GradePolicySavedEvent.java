@@ -0,0 +1,5 @@
+package com.university.gradessystem.service;
+
+// Published when a grade policy is created or changed; compiled scales are dropped after commit
+public record GradePolicySavedEvent(Long policyId) {
+}
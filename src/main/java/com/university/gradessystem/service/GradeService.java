@@ -1,33 +1,60 @@
 package com.university.gradessystem.service;
 
+import com.university.gradessystem.dto.BulkGradeEntry;
+import com.university.gradessystem.dto.BulkGradeRequest;
+import com.university.gradessystem.dto.CohortGpaReport;
+import com.university.gradessystem.dto.CohortGradeRow;
+import com.university.gradessystem.dto.CohortStudentGpa;
+import com.university.gradessystem.dto.EnrollmentAverage;
+import com.university.gradessystem.dto.EnrollmentGradeStats;
+import com.university.gradessystem.dto.GradeSearchCriteria;
+import com.university.gradessystem.dto.ProfessorGradeStats;
+import com.university.gradessystem.dto.StudentGpa;
 import com.university.gradessystem.model.Course;
 import com.university.gradessystem.model.Enrollment;
 import com.university.gradessystem.model.Grade;
+import com.university.gradessystem.model.Notification;
 import com.university.gradessystem.model.User;
+import com.university.gradessystem.repository.EnrollmentRepository;
 import com.university.gradessystem.repository.GradeRepository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
+import com.university.gradessystem.repository.GradeSpecifications;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class GradeService {
 
     private final GradeRepository gradeRepository;
-    private EnrollmentService enrollmentService;
+    private final EnrollmentRepository enrollmentRepository;
+    private final NotificationService notificationService;
+    private final GradingEngine gradingEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public GradeService(GradeRepository gradeRepository) {
+    public GradeService(GradeRepository gradeRepository, EnrollmentRepository enrollmentRepository,
+            NotificationService notificationService, GradingEngine gradingEngine,
+            ApplicationEventPublisher eventPublisher) {
         this.gradeRepository = gradeRepository;
-    }
-
-    @Autowired
-    @Lazy
-    public void setEnrollmentService(EnrollmentService enrollmentService) {
-        this.enrollmentService = enrollmentService;
+        this.enrollmentRepository = enrollmentRepository;
+        this.notificationService = notificationService;
+        this.gradingEngine = gradingEngine;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Grade> getAllGrades() {
@@ -52,102 +79,282 @@ public class GradeService {
             grade.setGradedDate(LocalDateTime.now());
         }
 
-        // Set letter grade based on score
+        // Set letter grade based on score and the course's grade policy
         if (grade.getScore() != null) {
-            grade.setLetterGrade(convertToLetterGrade(grade.getScore()));
+            grade.setLetterGrade(convertToLetterGrade(grade.getEnrollment().getCourse(), grade.getScore()));
         }
 
-        return gradeRepository.save(grade);
+        Grade saved = gradeRepository.save(grade);
+        adjustTotals(saved, 1);
+        recordsChanged(saved.getEnrollment());
+        return saved;
     }
 
+    // Grades one assignment for many enrollments in a single transaction. Ownership of every
+    // enrollment is checked with one query and the whole request is rejected if any id is not
+    // in the professor's courses; grades and student notifications go out as batched inserts and
+    // the enrollments' running totals move in a single update.
     @Transactional
-    public Grade updateGrade(Grade grade) {
-        // Set letter grade based on score
-        if (grade.getScore() != null) {
-            grade.setLetterGrade(convertToLetterGrade(grade.getScore()));
+    public List<Grade> addGrades(User professor, BulkGradeRequest request) {
+        if (request.assignmentName() == null || request.assignmentName().isBlank()
+                || request.assignmentType() == null || request.assignmentType().isBlank()) {
+            throw new IllegalArgumentException("Assignment name and type are required");
+        }
+        if (request.grades() == null || request.grades().isEmpty()) {
+            throw new IllegalArgumentException("No grades to submit");
+        }
+        if (request.weightPercentage() != null && request.weightPercentage() < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative");
+        }
+
+        Set<Long> enrollmentIds = new LinkedHashSet<>();
+        for (BulkGradeEntry entry : request.grades()) {
+            if (entry.enrollmentId() == null || entry.score() == null) {
+                throw new IllegalArgumentException("Every grade needs an enrollmentId and a score");
+            }
+            if (!enrollmentIds.add(entry.enrollmentId())) {
+                throw new IllegalArgumentException("Enrollment " + entry.enrollmentId() + " is listed more than once");
+            }
+        }
+
+        Map<Long, Enrollment> enrollments = enrollmentRepository
+                .findWithStudentByIdsAndProfessor(enrollmentIds, professor).stream()
+                .collect(Collectors.toMap(Enrollment::getId, Function.identity()));
+        if (enrollments.size() != enrollmentIds.size()) {
+            List<Long> unknown = enrollmentIds.stream().filter(id -> !enrollments.containsKey(id)).toList();
+            throw new IllegalArgumentException("Enrollments not found in your courses: " + unknown);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Grade> grades = new ArrayList<>(request.grades().size());
+        List<Notification> notifications = new ArrayList<>(request.grades().size());
+        for (BulkGradeEntry entry : request.grades()) {
+            Enrollment enrollment = enrollments.get(entry.enrollmentId());
+
+            Grade grade = new Grade();
+            grade.setEnrollment(enrollment);
+            grade.setAssignmentType(request.assignmentType());
+            grade.setAssignmentName(request.assignmentName());
+            grade.setWeightPercentage(request.weightPercentage());
+            grade.setScore(entry.score());
+            grade.setLetterGrade(convertToLetterGrade(enrollment.getCourse(), entry.score()));
+            grade.setComments(entry.comments());
+            grade.setGradedDate(now);
+            grade.setGradedBy(professor);
+            grades.add(grade);
+
+            Notification notification = new Notification();
+            notification.setUser(enrollment.getStudent());
+            notification.setMessage("New grade posted for " + request.assignmentName() + " in "
+                    + enrollment.getCourse().getTitle());
+            notification.setType("grade_posted");
+            notification.setCourse(enrollment.getCourse());
+            notification.setCreatedAt(now);
+            notifications.add(notification);
         }
 
-        return gradeRepository.save(grade);
+        List<Grade> saved = gradeRepository.saveAll(grades);
+        enrollmentRepository.addGradeTotals(enrollments.keySet(), saved.stream().map(Grade::getId).toList());
+        eventPublisher.publishEvent(new StudentRecordsChangedEvent(
+                enrollments.values().stream().map(enrollment -> enrollment.getStudent().getId()).toList(),
+                enrollments.values().stream().map(enrollment -> enrollment.getCourse().getId()).distinct().toList()));
+        notificationService.createNotifications(notifications);
+        return saved;
+    }
+
+    // The old score is taken out of the enrollment's running totals before the change is applied
+    @Transactional
+    public Optional<Grade> updateGrade(Long id, Grade changes) {
+        return gradeRepository.findById(id).map(grade -> {
+            adjustTotals(grade, -1);
+
+            grade.setScore(changes.getScore());
+            grade.setAssignmentName(changes.getAssignmentName());
+            grade.setAssignmentType(changes.getAssignmentType());
+            if (changes.getComments() != null) {
+                grade.setComments(changes.getComments());
+            }
+            grade.setGradedDate(LocalDateTime.now());
+
+            // Set letter grade based on score and the course's grade policy
+            if (grade.getScore() != null) {
+                grade.setLetterGrade(convertToLetterGrade(grade.getEnrollment().getCourse(), grade.getScore()));
+            }
+
+            Grade saved = gradeRepository.save(grade);
+            adjustTotals(saved, 1);
+            recordsChanged(saved.getEnrollment());
+            return saved;
+        });
     }
 
     @Transactional
     public void deleteGrade(Long id) {
-        gradeRepository.deleteById(id);
+        gradeRepository.findById(id).ifPresent(grade -> {
+            adjustTotals(grade, -1);
+            gradeRepository.delete(grade);
+            recordsChanged(grade.getEnrollment());
+        });
     }
 
+    // Weighted current grade, read from the enrollment's running totals
     public Double calculateAverageGrade(Enrollment enrollment) {
-        return gradeRepository.calculateAverageGrade(enrollment);
+        return enrollment.getCurrentGrade();
     }
 
+    // Mean of the current grades of the course's graded enrollments
     public Double calculateAverageGradeForCourse(Long courseId) {
-        return gradeRepository.calculateAverageGradeForCourse(courseId);
+        return enrollmentRepository.averageCurrentGradeByCourseId(courseId);
     }
 
-    public List<Grade> getRecentGradesByStudentId(Long studentId) {
-        return gradeRepository.findRecentGradesByStudentId(studentId);
+    // Recomputes every enrollment's running totals from its grades
+    @Transactional
+    public int reconcileGradeTotals() {
+        return enrollmentRepository.reconcileGradeTotals();
     }
 
-    public Double calculateGPA(User student) {
-        if (enrollmentService == null) {
-            return 0.0;
+    private void recordsChanged(Enrollment enrollment) {
+        eventPublisher.publishEvent(StudentRecordsChangedEvent.of(enrollment.getStudent().getId(),
+                enrollment.getCourse().getId()));
+    }
+
+    // Adds (sign 1) or removes (sign -1) a grade's contribution as an atomic update, so
+    // concurrent grading of the same enrollment cannot lose a delta. Weights are relative: a grade
+    // counts by its weightPercentage, or once without one, so a gradebook without weights averages
+    // plainly as before. Next to percentage weights (30 for a midterm) an unweighted item counts for
+    // little, so a weighted gradebook should weight every item. Same rule as reconcileGradeTotals.
+    private void adjustTotals(Grade grade, int sign) {
+        if (grade.getScore() == null) {
+            return;
         }
+        double weight = grade.getWeightPercentage() != null ? grade.getWeightPercentage() : 1.0;
+        enrollmentRepository.adjustGradeTotals(grade.getEnrollment().getId(),
+                sign * grade.getScore() * weight, sign * weight);
+    }
 
-        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(student);
+    public Page<Grade> searchGrades(User professor, GradeSearchCriteria criteria, Pageable pageable) {
+        return gradeRepository.findAll(GradeSpecifications.search(professor, criteria), pageable);
+    }
 
-        if (enrollments.isEmpty()) {
-            return 0.0;
-        }
+    public Map<Long, EnrollmentGradeStats> getEnrollmentGradeStatsByCourse(Long courseId) {
+        return gradeRepository.findEnrollmentGradeStatsByCourseId(courseId).stream()
+                .collect(Collectors.toMap(EnrollmentGradeStats::enrollmentId, Function.identity()));
+    }
+
+    public ProfessorGradeStats getProfessorGradeStats(User professor) {
+        return gradeRepository.findProfessorGradeStats(professor);
+    }
+
+    public List<Grade> getRecentGradesByStudentId(Long studentId, int limit) {
+        return gradeRepository.findRecentGradesByStudentId(studentId, PageRequest.of(0, limit));
+    }
+
+    public Double calculateGPA(User student) {
+        return calculateStudentGpa(student.getId()).gpa();
+    }
+
+    // Computes per-enrollment averages and the credit-weighted GPA from a single aggregate query
+    public StudentGpa calculateStudentGpa(Long studentId) {
+        List<EnrollmentAverage> enrollments = gradeRepository.findEnrollmentAveragesByStudentId(studentId);
 
         double totalPoints = 0.0;
         int totalCredits = 0;
+        double totalGrade = 0.0;
+        int gradedCount = 0;
 
-        for (Enrollment enrollment : enrollments) {
-            Course course = enrollment.getCourse();
-            Double avgGrade = calculateAverageGrade(enrollment);
+        for (EnrollmentAverage enrollment : enrollments) {
+            Double avgGrade = enrollment.average();
 
             if (avgGrade != null) {
+                totalGrade += avgGrade;
+                gradedCount++;
+
+                int credits = enrollment.credits() != null ? enrollment.credits() : 0;
                 // Convert percentage to 4.0 scale
-                double gpaPoints = convertToGPAScale(avgGrade);
-                totalPoints += gpaPoints * course.getCredits();
-                totalCredits += course.getCredits();
+                totalPoints += gradingEngine.scaleFor(enrollment.gradePolicyId()).points(avgGrade) * credits;
+                totalCredits += credits;
+            }
+        }
+
+        double gpa = totalCredits > 0 ? totalPoints / totalCredits : 0.0;
+        double averageGrade = gradedCount > 0 ? totalGrade / gradedCount : 0.0;
+        return new StudentGpa(studentId, gpa, totalCredits, averageGrade, enrollments);
+    }
+
+    // Scans every graded enrollment of the cohort once (its current grade is a column), ordered by
+    // student, then reduces the buffered rows into per-student GPA in parallel. Null filters match every course.
+    @Transactional(readOnly = true)
+    public CohortGpaReport calculateCohortGpa(String department, String semester, String academicYear) {
+        long scanStart = System.nanoTime();
+
+        int capacity = 1024;
+        int[] credits = new int[capacity];
+        double[] scores = new double[capacity];
+        CompiledGradeScale[] scales = new CompiledGradeScale[capacity];
+        int[] studentOffsets = new int[capacity];
+        List<Long> studentIds = new ArrayList<>();
+        List<String> studentNames = new ArrayList<>();
+
+        int rows = 0;
+        try (Stream<CohortGradeRow> scan = gradeRepository.streamCohortGrades(User.Role.ROLE_STUDENT,
+                department, semester, academicYear)) {
+            for (CohortGradeRow row : (Iterable<CohortGradeRow>) scan::iterator) {
+                if (rows == credits.length) {
+                    capacity = rows * 2;
+                    credits = Arrays.copyOf(credits, capacity);
+                    scores = Arrays.copyOf(scores, capacity);
+                    scales = Arrays.copyOf(scales, capacity);
+                }
+
+                int studentCount = studentIds.size();
+                if (studentCount == 0 || !studentIds.get(studentCount - 1).equals(row.studentId())) {
+                    if (studentCount + 1 >= studentOffsets.length) {
+                        studentOffsets = Arrays.copyOf(studentOffsets, studentOffsets.length * 2);
+                    }
+                    studentOffsets[studentCount] = rows;
+                    studentIds.add(row.studentId());
+                    studentNames.add(row.studentName());
+                }
+
+                credits[rows] = row.credits();
+                scores[rows] = row.score();
+                scales[rows] = gradingEngine.scaleFor(row.gradePolicyId());
+                rows++;
             }
         }
+        studentOffsets[studentIds.size()] = rows;
+        long scanMillis = (System.nanoTime() - scanStart) / 1_000_000;
 
-        return totalCredits > 0 ? totalPoints / totalCredits : 0.0;
+        long reduceStart = System.nanoTime();
+        int studentCount = studentIds.size();
+        double[] gpaResults = new double[studentCount];
+        int[] creditResults = new int[studentCount];
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        pool.invoke(new CohortGpaCalculator(studentOffsets, credits, scores, scales,
+                gpaResults, creditResults, 0, studentCount));
+        long reduceMillis = (System.nanoTime() - reduceStart) / 1_000_000;
+
+        List<CohortStudentGpa> students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            students.add(new CohortStudentGpa(studentIds.get(i), studentNames.get(i), gpaResults[i],
+                    creditResults[i]));
+        }
+
+        long totalMillis = scanMillis + reduceMillis;
+        double rowsPerSecond = totalMillis > 0 ? rows * 1000.0 / totalMillis : rows;
+        return new CohortGpaReport(students, rows, scanMillis, reduceMillis, rowsPerSecond, pool.getParallelism());
+    }
+
+    // Letter grade under the course's grade policy
+    public String convertToLetterGrade(Course course, Double score) {
+        if (score == null)
+            return "N/A";
+        return gradingEngine.scaleFor(course).letter(score);
     }
 
-    // Updated letter grade conversion based on the specified grading policy
-    public String convertToLetterGrade(Double score) {
+    public String convertToLetterGrade(Long gradePolicyId, Double score) {
         if (score == null)
             return "N/A";
-        if (score >= 80)
-            return "A";
-        if (score >= 70)
-            return "B+";
-        if (score >= 60)
-            return "B";
-        if (score >= 55)
-            return "C+";
-        if (score >= 47)
-            return "C";
-        if (score >= 40)
-            return "D";
-        return "F";
-    }
-
-    private double convertToGPAScale(double percentage) {
-        if (percentage >= 80)
-            return 4.0; // A
-        if (percentage >= 70)
-            return 3.5; // B+
-        if (percentage >= 60)
-            return 3.0; // B
-        if (percentage >= 55)
-            return 2.5; // C+
-        if (percentage >= 47)
-            return 2.0; // C
-        if (percentage >= 40)
-            return 1.0; // D
-        return 0.0; // F
+        return gradingEngine.scaleFor(gradePolicyId).letter(score);
     }
 }
@@ -0,0 +1,62 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.model.Course;
+import com.university.gradessystem.model.GradePolicy;
+import com.university.gradessystem.repository.GradePolicyRepository;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Letter grades and GPA points for every course, driven by the course's GradePolicy. Each policy
+// is compiled once into a CompiledGradeScale and cached by id until it is saved again; courses
+// without a policy use the default scale that new courses are created with.
+@Service
+public class GradingEngine {
+
+    private static final Map<String, Double> DEFAULT_SCALE = Map.of(
+            "A", 90.0, "B", 80.0, "C", 70.0, "D", 60.0, "F", 0.0);
+
+    private final GradePolicyRepository gradePolicyRepository;
+    private final CompiledGradeScale defaultScale = CompiledGradeScale.compile(DEFAULT_SCALE, true);
+    private final ConcurrentMap<Long, CompiledGradeScale> compiled = new ConcurrentHashMap<>();
+
+    public GradingEngine(GradePolicyRepository gradePolicyRepository) {
+        this.gradePolicyRepository = gradePolicyRepository;
+    }
+
+    public static Map<String, Double> defaultGradeScale() {
+        return new HashMap<>(DEFAULT_SCALE);
+    }
+
+    public CompiledGradeScale scaleFor(Long gradePolicyId) {
+        if (gradePolicyId == null) {
+            return defaultScale;
+        }
+        // A save committing during the load is safe: its invalidation waits for this entry
+        return compiled.computeIfAbsent(gradePolicyId, this::load);
+    }
+
+    public CompiledGradeScale scaleFor(Course course) {
+        GradePolicy policy = course != null ? course.getGradePolicy() : null;
+        return scaleFor(policy != null ? policy.getId() : null);
+    }
+
+    // Ahead of listeners that recompute grades under the saved policy
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradePolicySaved(GradePolicySavedEvent event) {
+        compiled.remove(event.policyId());
+    }
+
+    private CompiledGradeScale load(Long gradePolicyId) {
+        return gradePolicyRepository.findWithGradeScaleById(gradePolicyId)
+                .map(policy -> CompiledGradeScale.compile(policy.getGradeScale(), policy.isIncludePlusMinus()))
+                .orElse(defaultScale);
+    }
+}
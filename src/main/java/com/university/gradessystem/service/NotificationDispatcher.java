@@ -0,0 +1,208 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.dto.NotificationDispatchStats;
+import com.university.gradessystem.model.Course;
+import com.university.gradessystem.model.Enrollment;
+import com.university.gradessystem.model.Notification;
+import com.university.gradessystem.model.User;
+import com.university.gradessystem.repository.EnrollmentRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Course-wide notification fan-out. dispatch() only validates and queues the request; recipients
+// are resolved and the notifications written on a background pool, one transaction per chunk so
+// the inserts go out as JDBC batches and a large lecture never holds one long transaction. The
+// queue of waiting fan-outs is bounded; when it is full dispatch() rejects the request instead of
+// letting a burst of announcements pile up in memory.
+@Service
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    // Multiple of hibernate.jdbc.batch_size
+    private static final int CHUNK_SIZE = 1000;
+    private static final Set<Enrollment.EnrollmentStatus> ALL_RECIPIENTS = EnumSet.of(
+            Enrollment.EnrollmentStatus.ENROLLED,
+            Enrollment.EnrollmentStatus.WAITLISTED,
+            Enrollment.EnrollmentStatus.COMPLETED);
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int workers;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder totalEnqueueNanos = new LongAdder();
+    private final AtomicLong maxEnqueueNanos = new AtomicLong();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+
+    public NotificationDispatcher(EnrollmentRepository enrollmentRepository, EntityManager entityManager,
+            PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+            @Value("${gradessystem.notifications.dispatch-workers:2}") int workers,
+            @Value("${gradessystem.notifications.dispatch-queue-capacity:100}") int queueCapacity) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.workers = workers;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "notification-dispatch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // recipients: "all" (everyone in the course who has not dropped it), one or more enrollment
+    // statuses ("enrolled,waitlisted"), or a comma-separated list of student ids in the course
+    public void dispatch(Long courseId, String type, String message, String recipients) {
+        long start = System.nanoTime();
+        FanOut fanOut = new FanOut(courseId, type, message, parseRecipients(recipients),
+                LocalDateTime.now(), start);
+        try {
+            executor.execute(() -> deliver(fanOut));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new RejectedExecutionException("Notification delivery is busy, please try again shortly", e);
+        }
+        submitted.increment();
+
+        long enqueueNanos = System.nanoTime() - start;
+        totalEnqueueNanos.add(enqueueNanos);
+        maxEnqueueNanos.accumulateAndGet(enqueueNanos, Math::max);
+    }
+
+    public NotificationDispatchStats getStats() {
+        long submittedCount = submitted.sum();
+        long started = completed.sum() + failed.sum();
+        long writtenCount = written.sum();
+        double writeSeconds = writeNanos.sum() / 1_000_000_000.0;
+        return new NotificationDispatchStats(
+                workers,
+                executor.getQueue().size(),
+                submittedCount,
+                completed.sum(),
+                failed.sum(),
+                rejected.sum(),
+                writtenCount,
+                submittedCount > 0 ? totalEnqueueNanos.sum() / 1_000.0 / submittedCount : 0.0,
+                TimeUnit.NANOSECONDS.toMicros(maxEnqueueNanos.get()),
+                started > 0 ? totalQueueWaitNanos.sum() / 1_000_000.0 / started : 0.0,
+                writeSeconds > 0 ? Math.round(writtenCount / writeSeconds * 10.0) / 10.0 : 0.0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void deliver(FanOut fanOut) {
+        long start = System.nanoTime();
+        totalQueueWaitNanos.add(start - fanOut.submittedAt());
+        try {
+            List<Long> studentIds = fanOut.recipients().studentIds() != null
+                    ? enrollmentRepository.findStudentIdsByCourseAndStudentIds(fanOut.courseId(),
+                            fanOut.recipients().studentIds())
+                    : enrollmentRepository.findStudentIdsByCourseAndStatuses(fanOut.courseId(),
+                            fanOut.recipients().statuses());
+
+            for (int i = 0; i < studentIds.size(); i += CHUNK_SIZE) {
+                List<Long> chunk = studentIds.subList(i, Math.min(i + CHUNK_SIZE, studentIds.size()));
+                transactionTemplate.executeWithoutResult(status -> writeChunk(fanOut, chunk));
+                written.add(chunk.size());
+            }
+            completed.increment();
+            log.debug("Sent {} notifications for course {} in {} ms", studentIds.size(), fanOut.courseId(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Notification fan-out for course {} failed", fanOut.courseId(), e);
+        } finally {
+            writeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private void writeChunk(FanOut fanOut, List<Long> studentIds) {
+        Course course = entityManager.getReference(Course.class, fanOut.courseId());
+        List<Notification> notifications = new ArrayList<>(studentIds.size());
+        for (Long studentId : studentIds) {
+            Notification notification = new Notification();
+            notification.setUser(entityManager.getReference(User.class, studentId));
+            notification.setCourse(course);
+            notification.setMessage(fanOut.message());
+            notification.setType(fanOut.type());
+            notification.setCreatedAt(fanOut.createdAt());
+            notification.setRead(false);
+            entityManager.persist(notification);
+            notifications.add(notification);
+        }
+        // Delivered to connected clients once this chunk commits
+        eventPublisher.publishEvent(NotificationsCreatedEvent.of(notifications));
+    }
+
+    private static Recipients parseRecipients(String recipients) {
+        if (recipients == null || recipients.isBlank() || recipients.trim().equalsIgnoreCase("all")) {
+            return new Recipients(ALL_RECIPIENTS, null);
+        }
+
+        String[] tokens = recipients.split(",");
+        if (tokens[0].trim().matches("\\d+")) {
+            List<Long> studentIds = new ArrayList<>();
+            for (String token : tokens) {
+                try {
+                    studentIds.add(Long.valueOf(token.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid student id in recipients: " + token.trim());
+                }
+            }
+            return new Recipients(null, studentIds);
+        }
+
+        Set<Enrollment.EnrollmentStatus> statuses = EnumSet.noneOf(Enrollment.EnrollmentStatus.class);
+        for (String token : tokens) {
+            try {
+                statuses.add(Enrollment.EnrollmentStatus.valueOf(token.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid recipients: " + token.trim());
+            }
+        }
+        return new Recipients(statuses, null);
+    }
+
+    private record Recipients(Set<Enrollment.EnrollmentStatus> statuses, List<Long> studentIds) {
+    }
+
+    private record FanOut(Long courseId, String type, String message, Recipients recipients,
+            LocalDateTime createdAt, long submittedAt) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.dto.NotificationView;
+import com.university.gradessystem.model.User;
+import com.university.gradessystem.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Server-Sent Events registry: each signed-in user can hold a few open streams (one per tab).
+// New notifications are pushed once their transaction commits, from a single push thread so a
+// slow client never holds up the committing request. A reconnecting client sends Last-Event-ID
+// (the last notification id it saw) and gets what it missed replayed first.
+@Service
+public class NotificationPushService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationPushService.class);
+
+    private static final int MAX_REPLAY = 100;
+    private static final long RECONNECT_MILLIS = 3000;
+    private static final int PUSH_QUEUE_CAPACITY = 1000;
+
+    private final NotificationRepository notificationRepository;
+    private final long timeoutMillis;
+    private final Duration replayOverlap;
+    private final ConcurrentMap<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+
+    public NotificationPushService(NotificationRepository notificationRepository,
+            @Value("${gradessystem.notifications.stream-timeout-ms:1800000}") long timeoutMillis,
+            @Value("${gradessystem.notifications.replay-overlap-seconds:30}") long replayOverlapSeconds) {
+        this.notificationRepository = notificationRepository;
+        this.timeoutMillis = timeoutMillis;
+        this.replayOverlap = Duration.ofSeconds(replayOverlapSeconds);
+        // One thread keeps each stream in commit order
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(PUSH_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "notification-push");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public SseEmitter subscribe(User user, Long lastEventId) {
+        Long userId = user.getId();
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        // Registered before the replay so nothing committed in between is lost; the client
+        // ignores ids it has already seen
+        subscribers.compute(userId, (id, emitters) -> {
+            Set<SseEmitter> set = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            set.add(emitter);
+            return set;
+        });
+        emitter.onCompletion(() -> unregister(userId, emitter));
+        emitter.onTimeout(() -> unregister(userId, emitter));
+        emitter.onError(e -> unregister(userId, emitter));
+
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("connected"));
+            if (lastEventId != null) {
+                for (NotificationView notification : missedSince(user, lastEventId)) {
+                    emitter.send(toEvent(notification));
+                }
+            }
+        } catch (IOException e) {
+            // The container reports the broken connection and completes the emitter itself
+            unregister(userId, emitter);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> push(event));
+        } catch (RejectedExecutionException e) {
+            // Closing the streams makes the browsers reconnect with Last-Event-ID and pick the
+            // notifications up through the replay instead
+            log.warn("Notification push queue is full, closing {} recipients' streams", event.deliveries().size());
+            for (NotificationsCreatedEvent.Delivery delivery : event.deliveries()) {
+                Set<SseEmitter> emitters = subscribers.remove(delivery.userId());
+                if (emitters != null) {
+                    emitters.forEach(SseEmitter::complete);
+                }
+            }
+        }
+    }
+
+    // Keeps idle connections from being closed by proxies and detects clients that went away
+    @Scheduled(fixedRateString = "${gradessystem.notifications.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> subscribers.forEach((userId, emitters) -> {
+                for (SseEmitter emitter : emitters) {
+                    send(userId, emitter, SseEmitter.event().comment("heartbeat"));
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            // The push thread is busy anyway; the next beat will do
+        }
+    }
+
+    // Ids come from a pooled sequence and concurrent transactions commit in any order, so a
+    // notification with a lower id (or an earlier timestamp) can become visible after the one the
+    // client last saw. The replay therefore starts a little before that notification's timestamp
+    // and the client drops the ids it already has. If the notification is gone (purged or folded
+    // into a digest) there is nothing to anchor on and the client keeps what it loaded.
+    private List<NotificationView> missedSince(User user, Long lastEventId) {
+        Optional<LocalDateTime> seenAt = notificationRepository.findCreatedAtByIdAndUser(lastEventId, user);
+        if (seenAt.isEmpty()) {
+            return List.of();
+        }
+        // Id 0 sorts before every real id, so the window start itself is included
+        return notificationRepository.findFeedAfter(user, seenAt.get().minus(replayOverlap), 0L,
+                PageRequest.of(0, MAX_REPLAY));
+    }
+
+    private void push(NotificationsCreatedEvent event) {
+        for (NotificationsCreatedEvent.Delivery delivery : event.deliveries()) {
+            Set<SseEmitter> emitters = subscribers.get(delivery.userId());
+            if (emitters != null) {
+                for (SseEmitter emitter : emitters) {
+                    send(delivery.userId(), emitter, toEvent(delivery.notification()));
+                }
+            }
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping notification stream of user {}", userId, e);
+            unregister(userId, emitter);
+        }
+    }
+
+    private void unregister(Long userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(NotificationView notification) {
+        return SseEmitter.event()
+                .id(String.valueOf(notification.id()))
+                .name("notification")
+                .data(notification, MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,152 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.dto.NotificationDigestGroup;
+import com.university.gradessystem.dto.NotificationRetentionRun;
+import com.university.gradessystem.model.Course;
+import com.university.gradessystem.model.Notification;
+import com.university.gradessystem.model.User;
+import com.university.gradessystem.repository.NotificationRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Keeps the notifications table from growing without bound. Each run
+//  1. deletes read notifications older than read-max-age-days, and
+//  2. folds a user's older "grade updated" notifications for a course into one digest row.
+// Work is done in small chunks, each in its own short transaction, so a large backlog never
+// holds locks on the table for long. The last runs are kept in memory for the admin report.
+@Service
+public class NotificationRetentionService {
+
+    private static final String GRADE_UPDATED = "grade_updated";
+    private static final String GRADE_UPDATED_DIGEST = "grade_updated_digest";
+    private static final Set<String> DIGEST_TYPES = Set.of(GRADE_UPDATED, GRADE_UPDATED_DIGEST);
+    private static final int DIGEST_GROUPS_PER_CHUNK = 200;
+    private static final int HISTORY_SIZE = 30;
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int readMaxAgeDays;
+    private final int digestAfterHours;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Deque<NotificationRetentionRun> history = new ArrayDeque<>();
+
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+            UnreadNotificationCounter unreadCounter, EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${gradessystem.jobs.notification-retention.read-max-age-days:90}") int readMaxAgeDays,
+            @Value("${gradessystem.jobs.notification-retention.digest-after-hours:24}") int digestAfterHours,
+            @Value("${gradessystem.jobs.notification-retention.chunk-size:1000}") int chunkSize) {
+        this.notificationRepository = notificationRepository;
+        this.unreadCounter = unreadCounter;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readMaxAgeDays = readMaxAgeDays;
+        this.digestAfterHours = digestAfterHours;
+        this.chunkSize = chunkSize;
+    }
+
+    // Throws IllegalStateException if a run is already in progress
+    public NotificationRetentionRun run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Notification retention is already running");
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long start = System.nanoTime();
+            long rowsBefore = notificationRepository.count();
+
+            long purged = purgeRead(startedAt.minusDays(readMaxAgeDays));
+            long[] compaction = compactGradeUpdates(startedAt.minusHours(digestAfterHours));
+
+            NotificationRetentionRun run = new NotificationRetentionRun(startedAt,
+                    (System.nanoTime() - start) / 1_000_000, purged, compaction[0], compaction[1],
+                    rowsBefore, notificationRepository.count());
+            synchronized (history) {
+                history.addFirst(run);
+                if (history.size() > HISTORY_SIZE) {
+                    history.removeLast();
+                }
+            }
+            return run;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Most recent run first
+    public List<NotificationRetentionRun> getHistory() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    private long purgeRead(LocalDateTime cutoff) {
+        long purged = 0;
+        List<Long> ids;
+        do {
+            ids = notificationRepository.findReadIdsCreatedBefore(cutoff, PageRequest.of(0, chunkSize));
+            if (!ids.isEmpty()) {
+                List<Long> chunk = ids;
+                purged += transactionTemplate.execute(status -> notificationRepository.deleteByIds(chunk));
+            }
+        } while (ids.size() == chunkSize);
+        return purged;
+    }
+
+    // Returns { notifications removed, digests written }. Existing digests are folded in as well,
+    // so each user and course keeps at most one digest however many runs there have been.
+    private long[] compactGradeUpdates(LocalDateTime cutoff) {
+        long compacted = 0;
+        long digests = 0;
+        List<NotificationDigestGroup> groups;
+        do {
+            // Folded groups drop out of the result, so the first page is always the next chunk
+            groups = notificationRepository.findDigestGroups(DIGEST_TYPES, cutoff,
+                    PageRequest.of(0, DIGEST_GROUPS_PER_CHUNK));
+            if (!groups.isEmpty()) {
+                List<NotificationDigestGroup> chunk = groups;
+                compacted += transactionTemplate.execute(status -> writeDigests(chunk, cutoff));
+                digests += groups.size();
+            }
+        } while (groups.size() == DIGEST_GROUPS_PER_CHUNK);
+        return new long[] { compacted, digests };
+    }
+
+    private long writeDigests(List<NotificationDigestGroup> groups, LocalDateTime cutoff) {
+        long removed = 0;
+        for (NotificationDigestGroup group : groups) {
+            removed += notificationRepository.deleteDigestGroup(group.userId(), group.courseId(), DIGEST_TYPES,
+                    cutoff);
+
+            Course course = entityManager.getReference(Course.class, group.courseId());
+            Notification digest = new Notification();
+            digest.setUser(entityManager.getReference(User.class, group.userId()));
+            digest.setCourse(course);
+            digest.setType(GRADE_UPDATED_DIGEST);
+            digest.setMessage("Several grades were updated in " + course.getTitle());
+            digest.setCreatedAt(group.latest());
+            digest.setRead(group.unread() == 0);
+            entityManager.persist(digest);
+
+            if (group.unread() > 0) {
+                unreadCounter.invalidate(group.userId());
+            }
+        }
+        return removed;
+    }
+}
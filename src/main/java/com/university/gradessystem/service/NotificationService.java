@@ -1,22 +1,34 @@
 package com.university.gradessystem.service;
 
+import com.university.gradessystem.dto.NotificationFeedPage;
+import com.university.gradessystem.dto.NotificationView;
 import com.university.gradessystem.model.Course;
 import com.university.gradessystem.model.Notification;
 import com.university.gradessystem.model.User;
 import com.university.gradessystem.repository.NotificationRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 
 @Service
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationRepository notificationRepository,
+            UnreadNotificationCounter unreadCounter, ApplicationEventPublisher eventPublisher) {
         this.notificationRepository = notificationRepository;
+        this.unreadCounter = unreadCounter;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Notification> getNotificationsForUser(User user) {
@@ -28,7 +40,28 @@ public class NotificationService {
     }
 
     public long countUnreadNotifications(User user) {
-        return notificationRepository.countByUserAndRead(user, false);
+        return unreadCounter.get(user);
+    }
+
+    // One page of the feed, newest first. The cursor is opaque to clients: pass back nextCursor
+    // from the previous page, or null for the first page.
+    public NotificationFeedPage getFeed(User user, String cursor, int size) {
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<NotificationView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = notificationRepository.findFeed(user, page);
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            rows = notificationRepository.findFeedBefore(user, position.createdAt(), position.id(), page);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            NotificationView last = rows.get(size - 1);
+            nextCursor = new FeedCursor(last.createdAt(), last.id()).encode();
+        }
+        return new NotificationFeedPage(rows, nextCursor, unreadCounter.get(user));
     }
 
     @Transactional
@@ -40,29 +73,83 @@ public class NotificationService {
         notification.setCourse(course);
         notification.setCreatedAt(LocalDateTime.now());
         notification.setRead(false);
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        eventPublisher.publishEvent(NotificationsCreatedEvent.of(List.of(saved)));
+        return saved;
     }
 
+    // Saves many notifications in one transaction so the inserts can be batched
     @Transactional
-    public void markAsRead(Long notificationId) {
-        notificationRepository.findById(notificationId).ifPresent(notification -> {
-            notification.setRead(true);
-            notificationRepository.save(notification);
-        });
+    public List<Notification> createNotifications(List<Notification> notifications) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Notification notification : notifications) {
+            if (notification.getCreatedAt() == null) {
+                notification.setCreatedAt(now);
+            }
+        }
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        eventPublisher.publishEvent(NotificationsCreatedEvent.of(saved));
+        return saved;
     }
 
+    // Returns false if the notification does not exist or belongs to someone else
     @Transactional
-    public void markAllAsRead(User user) {
-        List<Notification> unreadNotifications = notificationRepository.findByUserAndReadOrderByCreatedAtDesc(user,
-                false);
-        for (Notification notification : unreadNotifications) {
-            notification.setRead(true);
-            notificationRepository.save(notification);
+    public boolean markAsRead(Long notificationId, User user) {
+        if (notificationRepository.markAsRead(notificationId, user) > 0) {
+            unreadCounter.add(user.getId(), -1);
+            return true;
         }
+        // Already read
+        return notificationRepository.existsByIdAndUser(notificationId, user);
+    }
+
+    @Transactional
+    public int markAllAsRead(User user) {
+        int updated = notificationRepository.markAllAsRead(user);
+        unreadCounter.reset(user.getId());
+        return updated;
+    }
+
+    @Transactional
+    public int markCourseAsRead(User user, Long courseId) {
+        int updated = notificationRepository.markAsReadByCourse(user, courseId);
+        unreadCounter.add(user.getId(), -updated);
+        return updated;
+    }
+
+    @Transactional
+    public int deleteReadNotifications(User user) {
+        return notificationRepository.deleteRead(user);
+    }
+
+    @Transactional
+    public int deleteNotificationsOlderThan(User user, LocalDateTime cutoff) {
+        int deleted = notificationRepository.deleteOlderThan(user, cutoff);
+        if (deleted > 0) {
+            unreadCounter.invalidate(user.getId());
+        }
+        return deleted;
     }
 
     @Transactional
     public void deleteNotification(Long id) {
         notificationRepository.deleteById(id);
     }
+
+    private record FeedCursor(LocalDateTime createdAt, Long id) {
+
+        private String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static FeedCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                return new FeedCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
 }
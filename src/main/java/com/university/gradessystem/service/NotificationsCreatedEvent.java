@@ -0,0 +1,20 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.dto.NotificationView;
+import com.university.gradessystem.model.Notification;
+
+import java.util.List;
+
+// Published inside the transaction that writes the notifications; listeners run after it commits.
+// The views are built up front so listeners never touch entities outside a session.
+public record NotificationsCreatedEvent(List<Delivery> deliveries) {
+
+    public record Delivery(Long userId, NotificationView notification) {
+    }
+
+    public static NotificationsCreatedEvent of(List<Notification> notifications) {
+        return new NotificationsCreatedEvent(notifications.stream()
+                .map(notification -> new Delivery(notification.getUser().getId(), NotificationView.from(notification)))
+                .toList());
+    }
+}
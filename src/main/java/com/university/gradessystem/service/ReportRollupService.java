@@ -0,0 +1,296 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.dto.CourseEnrollmentGrade;
+import com.university.gradessystem.dto.CourseSummary;
+import com.university.gradessystem.dto.ReportRollup;
+import com.university.gradessystem.dto.ReportRollupLetterCount;
+import com.university.gradessystem.dto.ReportRollupTotals;
+import com.university.gradessystem.model.CourseReportStats;
+import com.university.gradessystem.model.Enrollment;
+import com.university.gradessystem.repository.CourseReportStatsRepository;
+import com.university.gradessystem.repository.CourseRepository;
+import com.university.gradessystem.repository.EnrollmentRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Department, term, professor and institution reports over the CourseReportStats table (one row
+// per course). Grade and enrollment changes only mark their course dirty after commit; the report
+// rollup job refreshes the dirty courses from the enrollments' running grade totals, so neither
+// the refresh nor the reports read the grades table, and the reports group a row per course.
+@Service
+public class ReportRollupService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String UNASSIGNED = "Not Assigned";
+
+    public enum Dimension {
+        DEPARTMENT("departments", "s.department"),
+        SEMESTER("semesters", "s.semester"),
+        ACADEMIC_YEAR("academic-years", "s.academicYear"),
+        // Grouped by id so two professors with the same name stay apart; the name is only the label
+        PROFESSOR("professors", "s.professorId", "MAX(s.professorName)"),
+        INSTITUTION("institution", null);
+
+        private final String path;
+        // Grouped column, or null for a single institution-wide row
+        private final String column;
+        private final String label;
+
+        Dimension(String path, String column) {
+            this(path, column, column);
+        }
+
+        Dimension(String path, String column, String label) {
+            this.path = path;
+            this.column = column;
+            this.label = label;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public static Dimension fromPath(String path) {
+            for (Dimension dimension : values()) {
+                if (dimension.path.equalsIgnoreCase(path)) {
+                    return dimension;
+                }
+            }
+            throw new IllegalArgumentException("Unknown report dimension: " + path);
+        }
+    }
+
+    private final CourseReportStatsRepository statsRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final GradingEngine gradingEngine;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> dirtyCourses = ConcurrentHashMap.newKeySet();
+
+    public ReportRollupService(CourseReportStatsRepository statsRepository,
+            CourseRepository courseRepository,
+            EnrollmentRepository enrollmentRepository,
+            GradingEngine gradingEngine,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.gradingEngine = gradingEngine;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public List<ReportRollup> getRollups(Dimension dimension) {
+        String key = dimension.column != null ? "CAST(" + dimension.column + " AS String)" : "'Institution'";
+        String label = dimension.label != null ? dimension.label : "'Institution'";
+        String groupBy = dimension.column != null ? " GROUP BY " + dimension.column : "";
+
+        List<ReportRollupTotals> totals = entityManager.createQuery(
+                "SELECT new com.university.gradessystem.dto.ReportRollupTotals(" + key + ", " + label + ", COUNT(s), "
+                        + "SUM(s.enrollments), SUM(s.enrolled), SUM(s.waitlisted), SUM(s.completed), "
+                        + "SUM(s.dropped), SUM(s.graded), SUM(s.passed), SUM(s.gradeSum)) "
+                        + "FROM CourseReportStats s" + groupBy
+                        + (dimension.column != null ? " ORDER BY " + dimension.label + ", " + dimension.column : ""),
+                ReportRollupTotals.class).getResultList();
+        List<ReportRollupLetterCount> letterCounts = entityManager.createQuery(
+                "SELECT new com.university.gradessystem.dto.ReportRollupLetterCount(" + key + ", KEY(l), SUM(VALUE(l))) "
+                        + "FROM CourseReportStats s JOIN s.letterCounts l"
+                        + (dimension.column != null ? groupBy + ", KEY(l)" : " GROUP BY KEY(l)"),
+                ReportRollupLetterCount.class).getResultList();
+
+        // Matched on the key, not the label, which two groups may share
+        Map<String, Map<String, Long>> distributions = new HashMap<>();
+        for (ReportRollupLetterCount count : letterCounts) {
+            distributions.computeIfAbsent(count.key(), group -> new TreeMap<>())
+                    .put(count.letter(), count.students());
+        }
+
+        List<ReportRollup> rollups = new ArrayList<>(totals.size());
+        for (ReportRollupTotals row : totals) {
+            long enrollments = valueOf(row.enrollments());
+            long dropped = valueOf(row.dropped());
+            long graded = valueOf(row.graded());
+            rollups.add(new ReportRollup(labelOf(row.label()), valueOf(row.courses()), enrollments,
+                    valueOf(row.enrolled()), valueOf(row.waitlisted()), valueOf(row.completed()), dropped, graded,
+                    graded > 0 ? round(row.gradeSum() / graded, 100) : null,
+                    graded > 0 ? round((double) valueOf(row.passed()) / graded, 10_000) : null,
+                    enrollments > 0 ? round((double) dropped / enrollments, 10_000) : null,
+                    distributions.getOrDefault(row.key(), Map.of())));
+        }
+        return rollups;
+    }
+
+    public int getPendingCourses() {
+        return dirtyCourses.size();
+    }
+
+    public LocalDateTime getLastRefreshedAt() {
+        return statsRepository.findLastRefreshedAt();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentRecordsChanged(StudentRecordsChangedEvent event) {
+        dirtyCourses.addAll(event.courseIds());
+    }
+
+    // Letters and pass marks of the courses under the policy may have moved, and so may the
+    // department or term of a course saved along with it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradePolicySaved(GradePolicySavedEvent event) {
+        dirtyCourses.addAll(courseRepository.findIdsByGradePolicyId(event.policyId()));
+    }
+
+    // Refreshes the courses marked since the last run; returns how many were refreshed
+    public synchronized int refreshDirty() {
+        if (dirtyCourses.isEmpty()) {
+            return 0;
+        }
+        List<Long> courseIds = new ArrayList<>(dirtyCourses);
+        // Cleared first so a change committed during the refresh marks its course again
+        dirtyCourses.removeAll(courseIds);
+        try {
+            refresh(courseIds);
+        } catch (RuntimeException e) {
+            dirtyCourses.addAll(courseIds);
+            throw e;
+        }
+        return courseIds.size();
+    }
+
+    // Refreshes every course and drops the rows of deleted ones, correcting any drift
+    public synchronized int rebuildAll() {
+        List<Long> courseIds = courseRepository.findAllIds();
+        dirtyCourses.removeAll(courseIds);
+        refresh(courseIds);
+        refresh(statsRepository.findOrphanedCourseIds());
+        return courseIds.size();
+    }
+
+    private void refresh(List<Long> courseIds) {
+        for (int from = 0; from < courseIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = courseIds.subList(from, Math.min(from + CHUNK_SIZE, courseIds.size()));
+            transactionTemplate.executeWithoutResult(status -> refreshChunk(chunk));
+        }
+    }
+
+    private void refreshChunk(Collection<Long> courseIds) {
+        Map<Long, CourseSummary> courses = courseRepository.findCourseSummariesByIds(courseIds).stream()
+                .collect(Collectors.toMap(CourseSummary::id, Function.identity()));
+        Map<Long, CourseReportStats> existing = statsRepository.findWithLetterCountsByCourseIds(courseIds).stream()
+                .collect(Collectors.toMap(CourseReportStats::getCourseId, Function.identity()));
+        Map<Long, List<CourseEnrollmentGrade>> enrollments = enrollmentRepository.findCourseEnrollmentGrades(courseIds)
+                .stream()
+                .collect(Collectors.groupingBy(CourseEnrollmentGrade::courseId));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CourseReportStats> saved = new ArrayList<>();
+        List<CourseReportStats> deleted = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            CourseSummary course = courses.get(courseId);
+            CourseReportStats stats = existing.get(courseId);
+            if (course == null) {
+                if (stats != null) {
+                    deleted.add(stats);
+                }
+                continue;
+            }
+            if (stats == null) {
+                stats = new CourseReportStats(courseId);
+            }
+            fill(stats, course, enrollments.getOrDefault(courseId, List.of()));
+            stats.setRefreshedAt(now);
+            saved.add(stats);
+        }
+        statsRepository.deleteAll(deleted);
+        statsRepository.saveAll(saved);
+    }
+
+    private void fill(CourseReportStats stats, CourseSummary course, List<CourseEnrollmentGrade> enrollments) {
+        int enrolled = 0;
+        int waitlisted = 0;
+        int completed = 0;
+        int dropped = 0;
+        int graded = 0;
+        int passed = 0;
+        double gradeSum = 0.0;
+        Map<String, Integer> letterCounts = new HashMap<>();
+
+        for (CourseEnrollmentGrade enrollment : enrollments) {
+            Enrollment.EnrollmentStatus status = enrollment.status();
+            if (status == Enrollment.EnrollmentStatus.ENROLLED) {
+                enrolled++;
+            } else if (status == Enrollment.EnrollmentStatus.WAITLISTED) {
+                waitlisted++;
+            } else if (status == Enrollment.EnrollmentStatus.COMPLETED) {
+                completed++;
+            } else if (status == Enrollment.EnrollmentStatus.DROPPED) {
+                dropped++;
+            }
+
+            Double grade = enrollment.currentGrade();
+            if (grade != null && (status == Enrollment.EnrollmentStatus.ENROLLED
+                    || status == Enrollment.EnrollmentStatus.COMPLETED)) {
+                CompiledGradeScale scale = gradingEngine.scaleFor(enrollment.gradePolicyId());
+                graded++;
+                gradeSum += grade;
+                if (scale.points(grade) > 0) {
+                    passed++;
+                }
+                letterCounts.merge(baseLetter(scale.letter(grade)), 1, Integer::sum);
+            }
+        }
+
+        stats.setCourseCode(course.courseCode());
+        stats.setDepartment(course.department());
+        stats.setSemester(course.semester());
+        stats.setAcademicYear(course.academicYear());
+        stats.setProfessorId(course.professorId());
+        stats.setProfessorName(course.professorName());
+        stats.setEnrollments(enrollments.size());
+        stats.setEnrolled(enrolled);
+        stats.setWaitlisted(waitlisted);
+        stats.setCompleted(completed);
+        stats.setDropped(dropped);
+        stats.setGraded(graded);
+        stats.setPassed(passed);
+        stats.setGradeSum(gradeSum);
+        stats.getLetterCounts().clear();
+        stats.getLetterCounts().putAll(letterCounts);
+    }
+
+    // B+ and B- count as B so distributions line up across courses with and without plus/minus
+    private static String baseLetter(String letter) {
+        return letter.length() > 1 && (letter.endsWith("+") || letter.endsWith("-"))
+                ? letter.substring(0, letter.length() - 1)
+                : letter;
+    }
+
+    private static String labelOf(String key) {
+        return key == null || key.isBlank() ? UNASSIGNED : key;
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static double round(double value, int scale) {
+        return (double) Math.round(value * scale) / scale;
+    }
+}
@@ -0,0 +1,57 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.dto.ScoreStatistics;
+
+import java.util.Arrays;
+
+// Collects scores into a growable double[] while keeping a running mean and variance (Welford),
+// so the only work left after the scan is one primitive sort for the percentiles
+final class ScoreAccumulator {
+
+    private static final int BUCKETS = 10;
+
+    private double[] scores = new double[64];
+    private int count;
+    private double mean;
+    private double sumOfSquares;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private final int[] histogram = new int[BUCKETS];
+
+    void add(double score) {
+        if (count == scores.length) {
+            scores = Arrays.copyOf(scores, count * 2);
+        }
+        scores[count++] = score;
+
+        double delta = score - mean;
+        mean += delta / count;
+        sumOfSquares += delta * (score - mean);
+        min = Math.min(min, score);
+        max = Math.max(max, score);
+        histogram[Math.max(0, Math.min(BUCKETS - 1, (int) (score / 10)))]++;
+    }
+
+    int count() {
+        return count;
+    }
+
+    // Null when nothing was added
+    ScoreStatistics summarize() {
+        if (count == 0) {
+            return null;
+        }
+        double[] sorted = Arrays.copyOf(scores, count);
+        Arrays.sort(sorted);
+        return new ScoreStatistics(count, mean, percentile(sorted, 0.5), percentile(sorted, 0.1),
+                percentile(sorted, 0.25), percentile(sorted, 0.75), percentile(sorted, 0.9),
+                Math.sqrt(sumOfSquares / count), min, max, histogram.clone());
+    }
+
+    private static double percentile(double[] sorted, double fraction) {
+        double rank = fraction * (sorted.length - 1);
+        int lower = (int) rank;
+        int upper = Math.min(lower + 1, sorted.length - 1);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+    }
+}
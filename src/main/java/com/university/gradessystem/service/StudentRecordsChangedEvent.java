@@ -0,0 +1,13 @@
+package com.university.gradessystem.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+// Published when grades or enrollments of these students, in these courses, change; academic
+// summaries are rebuilt and course analytics dropped after commit
+public record StudentRecordsChangedEvent(Collection<Long> studentIds, Collection<Long> courseIds) {
+
+    public static StudentRecordsChangedEvent of(Long studentId, Long courseId) {
+        return new StudentRecordsChangedEvent(Set.of(studentId), Set.of(courseId));
+    }
+}
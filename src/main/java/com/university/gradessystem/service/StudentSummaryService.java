@@ -0,0 +1,191 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.dto.EnrollmentAverage;
+import com.university.gradessystem.dto.StudentGpa;
+import com.university.gradessystem.model.Enrollment;
+import com.university.gradessystem.model.StudentAcademicSummary;
+import com.university.gradessystem.model.StudentCourseResult;
+import com.university.gradessystem.repository.EnrollmentRepository;
+import com.university.gradessystem.repository.StudentAcademicSummaryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Maintains the StudentAcademicSummary read model. Grade, enrollment and course changes mark the
+// affected students after commit and a single background worker rebuilds their summaries from the
+// GPA query, so reads are one primary-key lookup. Marks are coalesced: a student already waiting
+// for a rebuild is not queued twice. A student without a summary yet is built on first read.
+@Service
+public class StudentSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentSummaryService.class);
+
+    private final StudentAcademicSummaryRepository summaryRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final GradeService gradeService;
+    private final GradingEngine gradingEngine;
+    private final TransactionTemplate transactionTemplate;
+    // One worker keeps rebuilds of the same student in order
+    private final ExecutorService worker;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    public StudentSummaryService(StudentAcademicSummaryRepository summaryRepository,
+            EnrollmentRepository enrollmentRepository,
+            GradeService gradeService,
+            GradingEngine gradingEngine,
+            PlatformTransactionManager transactionManager) {
+        this.summaryRepository = summaryRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.gradeService = gradeService;
+        this.gradingEngine = gradingEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public StudentAcademicSummary getSummary(Long studentId) {
+        return summaryRepository.findWithCoursesByStudentId(studentId)
+                .orElseGet(() -> rebuild(studentId));
+    }
+
+    // The summary in the shape the report writers take
+    public StudentGpa getStudentGpa(Long studentId) {
+        StudentAcademicSummary summary = getSummary(studentId);
+        List<EnrollmentAverage> enrollments = summary.getCourses().stream()
+                .map(course -> new EnrollmentAverage(course.getEnrollmentId(), course.getCourseId(),
+                        course.getGradePolicyId(), course.getCourseCode(), course.getCourseTitle(),
+                        course.getCredits(), course.getProfessorName(), course.getDepartment(),
+                        course.getSemester(), course.getStatus(), course.getEnrollmentDate(),
+                        course.getCurrentGrade(), course.getGradeCount()))
+                .toList();
+        return new StudentGpa(studentId, summary.getGpa(), summary.getGpaCredits(), summary.getAverageGrade(),
+                enrollments);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentRecordsChanged(StudentRecordsChangedEvent event) {
+        schedule(event.studentIds());
+    }
+
+    // Letters and GPA points of every student in the course may have moved
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradePolicySaved(GradePolicySavedEvent event) {
+        worker.execute(() -> schedule(enrollmentRepository.findStudentIdsByGradePolicyId(event.policyId())));
+    }
+
+    // Used by the nightly reconciliation so drift in any summary is corrected
+    public int rebuildAll() {
+        List<Long> studentIds = enrollmentRepository.findEnrolledStudentIds();
+        schedule(studentIds);
+        return studentIds.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void schedule(Collection<Long> studentIds) {
+        for (Long studentId : studentIds) {
+            if (pending.add(studentId)) {
+                worker.execute(() -> {
+                    // Cleared first so a change committed during the rebuild queues another one
+                    pending.remove(studentId);
+                    try {
+                        rebuild(studentId);
+                    } catch (RuntimeException e) {
+                        log.warn("Could not rebuild the academic summary of student {}", studentId, e);
+                    }
+                });
+            }
+        }
+    }
+
+    // A first-read build can race the worker inserting the same row; the loser simply retries
+    private StudentAcademicSummary rebuild(Long studentId) {
+        try {
+            return transactionTemplate.execute(status -> doRebuild(studentId));
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> doRebuild(studentId));
+        }
+    }
+
+    private StudentAcademicSummary doRebuild(Long studentId) {
+        StudentGpa studentGpa = gradeService.calculateStudentGpa(studentId);
+        StudentAcademicSummary summary = summaryRepository.findWithCoursesByStudentId(studentId)
+                .orElseGet(() -> new StudentAcademicSummary(studentId));
+
+        List<StudentCourseResult> courses = new ArrayList<>(studentGpa.enrollments().size());
+        int creditsAttempted = 0;
+        int creditsEarned = 0;
+        int enrolledCourses = 0;
+        for (EnrollmentAverage enrollment : studentGpa.enrollments()) {
+            StudentCourseResult course = toCourseResult(enrollment);
+            courses.add(course);
+
+            int credits = enrollment.credits() != null ? enrollment.credits() : 0;
+            if (enrollment.status() == Enrollment.EnrollmentStatus.ENROLLED) {
+                enrolledCourses++;
+                creditsAttempted += credits;
+            } else if (enrollment.status() == Enrollment.EnrollmentStatus.COMPLETED) {
+                creditsAttempted += credits;
+                if (course.getGradePoints() != null && course.getGradePoints() > 0) {
+                    creditsEarned += credits;
+                }
+            }
+        }
+
+        summary.setGpa(studentGpa.gpa());
+        summary.setAverageGrade(studentGpa.averageGrade());
+        summary.setGpaCredits(studentGpa.totalCredits());
+        summary.setCreditsAttempted(creditsAttempted);
+        summary.setCreditsEarned(creditsEarned);
+        summary.setEnrolledCourses(enrolledCourses);
+        summary.setRefreshedAt(LocalDateTime.now());
+        summary.getCourses().clear();
+        summary.getCourses().addAll(courses);
+        return summaryRepository.save(summary);
+    }
+
+    private StudentCourseResult toCourseResult(EnrollmentAverage enrollment) {
+        StudentCourseResult course = new StudentCourseResult();
+        course.setEnrollmentId(enrollment.enrollmentId());
+        course.setCourseId(enrollment.courseId());
+        course.setGradePolicyId(enrollment.gradePolicyId());
+        course.setCourseCode(enrollment.courseCode());
+        course.setCourseTitle(enrollment.courseTitle());
+        course.setCredits(enrollment.credits());
+        course.setProfessorName(enrollment.professorName());
+        course.setDepartment(enrollment.department());
+        course.setSemester(enrollment.semester());
+        course.setStatus(enrollment.status());
+        course.setEnrollmentDate(enrollment.enrollmentDate());
+        course.setCurrentGrade(enrollment.average());
+        course.setGradeCount(enrollment.gradeCount());
+        if (enrollment.average() != null) {
+            CompiledGradeScale scale = gradingEngine.scaleFor(enrollment.gradePolicyId());
+            course.setLetterGrade(scale.letter(enrollment.average()));
+            course.setGradePoints(scale.points(enrollment.average()));
+        } else {
+            course.setLetterGrade("N/A");
+        }
+        return course;
+    }
+}
@@ -0,0 +1,280 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.dto.TranscriptBatchStatus;
+import com.university.gradessystem.dto.UserSummary;
+import com.university.gradessystem.report.TranscriptPdfRenderer;
+import com.university.gradessystem.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Term-end transcript run for every student. A coordinator thread walks the students with a
+// keyset cursor (so no transaction stays open for the whole run), hands each one to a fixed
+// render pool and appends finished PDFs to a single ZIP file in the output directory. At most
+// two transcripts per worker are in flight, which bounds memory however many students there are.
+@Service
+public class TranscriptBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TranscriptBatchService.class);
+
+    private static final int PAGE_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final StudentSummaryService studentSummaryService;
+    private final TranscriptPdfRenderer transcriptPdfRenderer;
+    private final Path outputDirectory;
+    private final int workers;
+    private final int retainedRuns;
+    private final ExecutorService coordinator;
+    private final ExecutorService renderPool;
+    private final Map<String, BatchRun> runs = new ConcurrentHashMap<>();
+
+    public TranscriptBatchService(UserRepository userRepository, StudentSummaryService studentSummaryService,
+            TranscriptPdfRenderer transcriptPdfRenderer,
+            @Value("${gradessystem.transcripts.output-dir:${java.io.tmpdir}/gradessystem-transcripts}") String outputDirectory,
+            @Value("${gradessystem.transcripts.workers:4}") int workers,
+            @Value("${gradessystem.transcripts.retained-runs:5}") int retainedRuns) {
+        this.userRepository = userRepository;
+        this.studentSummaryService = studentSummaryService;
+        this.transcriptPdfRenderer = transcriptPdfRenderer;
+        this.outputDirectory = Paths.get(outputDirectory);
+        this.workers = workers;
+        this.retainedRuns = retainedRuns;
+        this.coordinator = Executors.newSingleThreadExecutor(namedThreads("transcript-batch"));
+        this.renderPool = Executors.newFixedThreadPool(workers, namedThreads("transcript-render"));
+    }
+
+    // Only one run at a time: a second run would just compete for the same render pool
+    public synchronized TranscriptBatchStatus start() {
+        if (runs.values().stream().anyMatch(run -> run.state == TranscriptBatchStatus.State.RUNNING)) {
+            throw new IllegalStateException("A transcript batch is already running");
+        }
+        evictOldRuns();
+
+        String jobId = UUID.randomUUID().toString();
+        BatchRun run = new BatchRun(jobId, outputDirectory.resolve("transcripts-" + jobId + ".zip"));
+        runs.put(jobId, run);
+        coordinator.execute(() -> execute(run));
+        return run.toStatus();
+    }
+
+    public Optional<TranscriptBatchStatus> getStatus(String jobId) {
+        return Optional.ofNullable(runs.get(jobId)).map(BatchRun::toStatus);
+    }
+
+    public boolean cancel(String jobId) {
+        BatchRun run = runs.get(jobId);
+        if (run == null || run.state != TranscriptBatchStatus.State.RUNNING) {
+            return false;
+        }
+        run.cancelRequested = true;
+        return true;
+    }
+
+    // The archive of a completed run
+    public Optional<Path> getArchive(String jobId) {
+        BatchRun run = runs.get(jobId);
+        if (run == null || run.state != TranscriptBatchStatus.State.COMPLETED || !Files.exists(run.archive)) {
+            return Optional.empty();
+        }
+        return Optional.of(run.archive);
+    }
+
+    // Keeps the newest retainedRuns finished runs. Older ones are forgotten and their archives
+    // deleted, as are archives no known run owns (left behind by an earlier process).
+    private void evictOldRuns() {
+        List<BatchRun> finished = runs.values().stream()
+                .filter(run -> run.state != TranscriptBatchStatus.State.RUNNING)
+                .sorted(Comparator.comparingLong((BatchRun run) -> run.startNanos).reversed())
+                .toList();
+        for (BatchRun run : finished.subList(Math.min(retainedRuns, finished.size()), finished.size())) {
+            runs.remove(run.jobId);
+            deleteQuietly(run.archive);
+        }
+
+        if (!Files.isDirectory(outputDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> archives = Files.newDirectoryStream(outputDirectory, "transcripts-*.zip")) {
+            for (Path archive : archives) {
+                if (runs.values().stream().noneMatch(run -> run.archive.equals(archive))) {
+                    deleteQuietly(archive);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean up old transcript archives in {}", outputDirectory, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runs.values().forEach(run -> run.cancelRequested = true);
+        coordinator.shutdownNow();
+        renderPool.shutdownNow();
+    }
+
+    private void execute(BatchRun run) {
+        CompletionService<RenderedTranscript> completion = new ExecutorCompletionService<>(renderPool);
+        int maxInFlight = workers * 2;
+        int inFlight = 0;
+
+        try {
+            run.totalStudents = userRepository.countStudents();
+            Files.createDirectories(outputDirectory);
+
+            try (ZipOutputStream zip = new ZipOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(run.archive)))) {
+                long afterId = 0;
+                List<UserSummary> page;
+                do {
+                    page = userRepository.findStudentSummariesAfter(afterId, PageRequest.of(0, PAGE_SIZE));
+                    for (UserSummary student : page) {
+                        if (run.cancelRequested) {
+                            break;
+                        }
+                        while (inFlight >= maxInFlight) {
+                            writeEntry(zip, completion.take(), run);
+                            inFlight--;
+                        }
+                        completion.submit(() -> render(student));
+                        inFlight++;
+                        afterId = student.id();
+                    }
+                } while (page.size() == PAGE_SIZE && !run.cancelRequested);
+
+                while (inFlight > 0) {
+                    writeEntry(zip, completion.take(), run);
+                    inFlight--;
+                }
+            }
+
+            if (run.cancelRequested) {
+                Files.deleteIfExists(run.archive);
+                run.finish(TranscriptBatchStatus.State.CANCELLED, null);
+            } else {
+                run.finish(TranscriptBatchStatus.State.COMPLETED, null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleteQuietly(run.archive);
+            run.finish(TranscriptBatchStatus.State.CANCELLED, "Interrupted");
+        } catch (IOException | RuntimeException e) {
+            log.error("Transcript batch {} failed", run.jobId, e);
+            deleteQuietly(run.archive);
+            run.finish(TranscriptBatchStatus.State.FAILED, e.getMessage());
+        }
+
+        log.info("Transcript batch {} {}: {} rendered, {} failed in {} ms", run.jobId, run.state,
+                run.rendered.get(), run.failed.get(), run.elapsedMillis());
+    }
+
+    private RenderedTranscript render(UserSummary student) throws IOException {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream(8192);
+        transcriptPdfRenderer.render(student, studentSummaryService.getStudentGpa(student.id()), pdf);
+        return new RenderedTranscript(student, pdf.toByteArray());
+    }
+
+    // Runs on the coordinator thread only, so the ZIP stream is never written concurrently
+    private void writeEntry(ZipOutputStream zip, Future<RenderedTranscript> future, BatchRun run)
+            throws IOException, InterruptedException {
+        RenderedTranscript transcript;
+        try {
+            transcript = future.get();
+        } catch (ExecutionException e) {
+            run.failed.incrementAndGet();
+            log.warn("Transcript rendering failed in batch {}", run.jobId, e.getCause());
+            return;
+        }
+
+        zip.putNextEntry(new ZipEntry("transcript_" + transcript.student().username() + ".pdf"));
+        zip.write(transcript.pdf());
+        zip.closeEntry();
+        run.rendered.incrementAndGet();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record RenderedTranscript(UserSummary student, byte[] pdf) {
+    }
+
+    private static final class BatchRun {
+        private final String jobId;
+        private final Path archive;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong rendered = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile long totalStudents;
+        private volatile boolean cancelRequested;
+        private volatile TranscriptBatchStatus.State state = TranscriptBatchStatus.State.RUNNING;
+        private volatile String error;
+        private volatile long finishNanos;
+
+        private BatchRun(String jobId, Path archive) {
+            this.jobId = jobId;
+            this.archive = archive;
+        }
+
+        private void finish(TranscriptBatchStatus.State finalState, String message) {
+            finishNanos = System.nanoTime();
+            error = message;
+            state = finalState;
+        }
+
+        private long elapsedMillis() {
+            long end = state == TranscriptBatchStatus.State.RUNNING ? System.nanoTime() : finishNanos;
+            return (end - startNanos) / 1_000_000;
+        }
+
+        private TranscriptBatchStatus toStatus() {
+            long elapsed = elapsedMillis();
+            long done = rendered.get();
+            return new TranscriptBatchStatus(jobId, state, totalStudents, done, failed.get(), startedAt,
+                    elapsed, elapsed > 0 ? Math.round(done * 10_000.0 / elapsed) / 10.0 : 0.0, error);
+        }
+    }
+}
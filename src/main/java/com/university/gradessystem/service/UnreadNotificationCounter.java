@@ -0,0 +1,103 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.model.User;
+import com.university.gradessystem.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+// Per-user unread badge counts, loaded with one COUNT on first use and then adjusted in memory as
+// notifications are created and read. Only the most recently used users are kept, and entries are
+// reloaded after a while so any drift (e.g. a create racing the initial load) corrects itself.
+// Adjustments are applied after commit so a rolled-back change never moves the count.
+@Service
+public class UnreadNotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+    private final long ttlNanos;
+    private final Map<Long, Counter> counters;
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+            @Value("${gradessystem.notifications.unread-cache-size:10000}") int maxEntries,
+            @Value("${gradessystem.notifications.unread-cache-ttl-minutes:10}") long ttlMinutes) {
+        this.notificationRepository = notificationRepository;
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        this.counters = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Counter> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public long get(User user) {
+        Counter counter = counters.get(user.getId());
+        if (counter != null && System.nanoTime() - counter.loadedAt < ttlNanos) {
+            return counter.value.get();
+        }
+        long count = notificationRepository.countByUserAndRead(user, false);
+        counters.put(user.getId(), new Counter(count));
+        return count;
+    }
+
+    public void add(Long userId, long delta) {
+        afterCommit(() -> update(userId, value -> Math.max(0, value + delta)));
+    }
+
+    public void reset(Long userId) {
+        afterCommit(() -> update(userId, value -> 0));
+    }
+
+    // For changes whose effect on the unread count is unknown
+    public void invalidate(Long userId) {
+        afterCommit(() -> counters.remove(userId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        for (NotificationsCreatedEvent.Delivery delivery : event.deliveries()) {
+            if (!delivery.notification().read()) {
+                update(delivery.userId(), value -> value + 1);
+            }
+        }
+    }
+
+    // Users without an entry are left alone; they are counted on their next request
+    private void update(Long userId, LongUnaryOperator operator) {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.value.updateAndGet(operator);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Counter {
+        private final AtomicLong value;
+        private final long loadedAt = System.nanoTime();
+
+        private Counter(long value) {
+            this.value = new AtomicLong(value);
+        }
+    }
+}
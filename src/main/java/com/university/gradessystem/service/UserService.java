@@ -1,8 +1,13 @@
 package com.university.gradessystem.service;
 
+import com.university.gradessystem.dto.UserCountReport;
+import com.university.gradessystem.dto.UserCountRow;
+import com.university.gradessystem.dto.UserSummary;
 import com.university.gradessystem.model.User;
 import com.university.gradessystem.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -10,7 +15,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -34,6 +41,14 @@ public class UserService implements UserDetailsService {
         return userRepository.findAll();
     }
 
+    public Page<UserSummary> getUserSummaries(Pageable pageable) {
+        return userRepository.findUserSummaries(pageable);
+    }
+
+    public List<UserSummary> getUserSummariesByRole(User.Role role) {
+        return userRepository.findUserSummariesByRole(role);
+    }
+
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
@@ -94,4 +109,30 @@ public class UserService implements UserDetailsService {
     public long countProfessors() {
         return userRepository.countProfessors();
     }
+
+    // One grouped count instead of loading the user table
+    public UserCountReport getUserCountReport() {
+        Map<User.Role, Long> usersByRole = new EnumMap<>(User.Role.class);
+        Map<User.Role, Long> activeUsersByRole = new EnumMap<>(User.Role.class);
+        for (User.Role role : User.Role.values()) {
+            usersByRole.put(role, 0L);
+            activeUsersByRole.put(role, 0L);
+        }
+
+        long totalUsers = 0;
+        long activeUsers = 0;
+        for (UserCountRow row : userRepository.countByRoleAndActive()) {
+            totalUsers += row.users();
+            if (row.active()) {
+                activeUsers += row.users();
+            }
+            if (row.role() != null) {
+                usersByRole.merge(row.role(), row.users(), Long::sum);
+                if (row.active()) {
+                    activeUsersByRole.merge(row.role(), row.users(), Long::sum);
+                }
+            }
+        }
+        return new UserCountReport(totalUsers, activeUsers, usersByRole, activeUsersByRole);
+    }
 }
@@ -1,6 +1,11 @@
 // Admin dashboard functionality
 let currentSection = "overview"
 let csrfToken = null
+let currentUsers = []
+let currentCourses = []
+let usersPage = 0
+let coursesPage = 0
+const PAGE_SIZE = 50
 
 document.addEventListener("DOMContentLoaded", () => {
   // Get CSRF token from meta tag
@@ -59,13 +64,17 @@ function showAdminSection(section) {
   }
 }
 
-function loadUsers() {
-  fetch("/admin/api/users")
+function loadUsers(page = usersPage) {
+  fetch(`/admin/api/users?page=${page}&size=${PAGE_SIZE}&sort=id`)
     .then((response) => response.json())
-    .then((users) => {
+    .then((result) => {
+      usersPage = result.page
+      currentUsers = result.content
+      renderPagination("usersPagination", result, "loadUsers")
+
       const tbody = document.getElementById("usersTableBody")
       if (tbody) {
-        tbody.innerHTML = users
+        tbody.innerHTML = currentUsers
           .map(
             (user) => `
                     <tr>
@@ -90,18 +99,22 @@ function loadUsers() {
     })
 }
 
-function loadCourses() {
-  fetch("/admin/api/courses")
+function loadCourses(page = coursesPage) {
+  fetch(`/admin/api/courses?page=${page}&size=${PAGE_SIZE}&sort=courseCode`)
     .then((response) => response.json())
-    .then((courses) => {
+    .then((result) => {
+      coursesPage = result.page
+      currentCourses = result.content
+      renderPagination("coursesPagination", result, "loadCourses")
+
       const grid = document.getElementById("coursesGrid")
       if (grid) {
-        if (courses.length === 0) {
+        if (currentCourses.length === 0) {
           grid.innerHTML = '<div class="no-courses">No courses available. Click "Add Course" to create one.</div>'
           return
         }
 
-        grid.innerHTML = courses
+        grid.innerHTML = currentCourses
           .map(
             (course) => `
                     <div class="course-card">
@@ -110,7 +123,7 @@ function loadCourses() {
                         <div class="course-info">
                             <span>Credits: ${course.credits}</span>
                             <span>Department: ${course.department}</span>
-                            <span>Professor: ${course.professor ? course.professor.fullName : "Not assigned"}</span>
+                            <span>Professor: ${course.professorName || "Not assigned"}</span>
                         </div>
                         <div class="course-info">
                             <span>Semester: ${course.semester}</span>
@@ -133,6 +146,22 @@ function loadCourses() {
     })
 }
 
+function renderPagination(containerId, result, loader) {
+  const pagination = document.getElementById(containerId)
+  if (!pagination) return
+
+  if (result.totalPages <= 1) {
+    pagination.innerHTML = ""
+    return
+  }
+
+  pagination.innerHTML = `
+        <button class="btn btn-secondary" ${result.page === 0 ? "disabled" : ""} onclick="${loader}(${result.page - 1})">Previous</button>
+        <span>Page ${result.page + 1} of ${result.totalPages} (${result.totalElements} total)</span>
+        <button class="btn btn-secondary" ${result.page + 1 >= result.totalPages ? "disabled" : ""} onclick="${loader}(${result.page + 1})">Next</button>
+    `
+}
+
 function loadStudentsAndCourses() {
   // Load students for enrollment dropdown
   fetch("/admin/api/users/student")
@@ -377,8 +406,14 @@ document.addEventListener("DOMContentLoaded", () => {
       })
         .then((response) => {
           if (response.ok) {
-            showToast("Student enrolled successfully")
-            enrollmentForm.reset()
+            return response.json().then((enrollment) => {
+              if (enrollment.status === "WAITLISTED") {
+                showToast("Course is full - student added to the waitlist")
+              } else {
+                showToast("Student enrolled successfully")
+              }
+              enrollmentForm.reset()
+            })
           } else {
             return response.text().then((text) => {
               throw new Error(text)
@@ -393,9 +428,8 @@ document.addEventListener("DOMContentLoaded", () => {
 })
 
 function editUser(userId) {
-  // Fetch user data first
-  fetch(`/admin/api/users`)
-    .then((response) => response.json())
+  // The user is on the currently loaded page
+  Promise.resolve(currentUsers)
     .then((users) => {
       const user = users.find((u) => u.id === userId)
       if (!user) {
@@ -502,11 +536,8 @@ function deleteUser(userId) {
 }
 
 function editCourse(courseId) {
-  // Fetch course data and professors
-  Promise.all([
-    fetch("/admin/api/courses").then((r) => r.json()),
-    fetch("/admin/api/users/professor").then((r) => r.json()),
-  ])
+  // The course is on the currently loaded page; only professors need fetching
+  Promise.all([Promise.resolve(currentCourses), fetch("/admin/api/users/professor").then((r) => r.json())])
     .then(([courses, professors]) => {
       const course = courses.find((c) => c.id === courseId)
       if (!course) {
@@ -555,7 +586,7 @@ function editCourse(courseId) {
               ${professors
                 .map(
                   (prof) =>
-                    `<option value="${prof.id}" ${course.professor && course.professor.id === prof.id ? "selected" : ""}>${prof.fullName}</option>`,
+                    `<option value="${prof.id}" ${course.professorId === prof.id ? "selected" : ""}>${prof.fullName}</option>`,
                 )
                 .join("")}
             </select>
@@ -172,10 +172,6 @@ function loadStudentsForGrading() {
                            min="0" 
                            max="100" 
                            step="0.1">
-                    <input type="text" 
-                           name="assignment_${student.enrollmentId}" 
-                           placeholder="Assignment Name" 
-                           required>
                     <input type="hidden" 
                            name="enrollmentId_${student.enrollmentId}" 
                            value="${student.enrollmentId}">
@@ -205,87 +201,98 @@ function setupFormHandlers() {
         return
       }
 
-      // Collect all grade entries
-      const gradeEntries = document.querySelectorAll(".grade-entry")
-      const promises = []
+      const assignmentName = document.getElementById("bulkAssignmentName").value.trim()
+      const weight = document.getElementById("bulkWeight").value
 
-      gradeEntries.forEach((entry) => {
+      if (!assignmentName) {
+        showToast("Please enter an assignment name", "error")
+        return
+      }
+
+      // Collect all grade entries into a single bulk request
+      const grades = []
+      document.querySelectorAll(".grade-entry").forEach((entry) => {
         const enrollmentId = entry.querySelector('input[name^="enrollmentId_"]').value
         const score = entry.querySelector('input[name^="score_"]').value
-        const assignmentName = entry.querySelector('input[name^="assignment_"]').value
-
-        if (score && assignmentName) {
-          const formData = new FormData()
-          formData.append("enrollmentId", enrollmentId)
-          formData.append("assignmentType", assignmentType)
-          formData.append("assignmentName", assignmentName)
-          formData.append("score", score)
-
-          promises.push(
-            fetch("/professor/api/grades", {
-              method: "POST",
-              headers: {
-                "X-CSRF-TOKEN": csrfToken,
-              },
-              body: formData,
-            }),
-          )
+
+        if (score !== "") {
+          grades.push({ enrollmentId: Number(enrollmentId), score: Number(score) })
         }
       })
 
-      if (promises.length === 0) {
+      if (grades.length === 0) {
         showToast("No grades to submit", "error")
         return
       }
 
-      Promise.all(promises)
-        .then((responses) => {
-          const successCount = responses.filter((r) => r.ok).length
-          showToast(`${successCount} grades submitted successfully`)
+      fetch("/professor/api/grades/bulk", {
+        method: "POST",
+        headers: {
+          "Content-Type": "application/json",
+          "X-CSRF-TOKEN": csrfToken,
+        },
+        body: JSON.stringify({
+          assignmentName: assignmentName,
+          assignmentType: assignmentType,
+          weightPercentage: weight !== "" ? Number(weight) : null,
+          grades: grades,
+        }),
+      })
+        .then((response) => response.json().then((data) => ({ ok: response.ok, data })))
+        .then(({ ok, data }) => {
+          if (!ok) {
+            throw new Error(data.error || "Error submitting grades")
+          }
+          showToast(data.message)
           marksForm.reset()
           document.getElementById("manualGradeEntries").innerHTML = ""
         })
         .catch((error) => {
-          showToast("Error submitting grades", "error")
+          showToast(error.message, "error")
         })
     })
   }
 }
 
-function searchGrades() {
+function searchGrades(page = 0) {
   const studentName = document.getElementById("studentSearch").value
   const courseId = document.getElementById("courseFilter").value
 
   const params = new URLSearchParams()
   if (studentName) params.append("studentName", studentName)
   if (courseId) params.append("courseId", courseId)
+  params.append("page", page)
+  params.append("size", 25)
 
-  fetch(`/professor/api/grades/search?${params}`)
+  fetch(`/professor/api/grades/page?${params}`)
     .then((response) => response.json())
-    .then((results) => {
+    .then((result) => {
       const tbody = document.getElementById("studentsTableBody")
       if (tbody) {
-        if (results.length === 0) {
+        if (result.content.length === 0) {
           tbody.innerHTML =
-            '<tr><td colspan="5" class="no-grades">No grades found matching your search criteria.</td></tr>'
+            '<tr><td colspan="6" class="no-grades">No grades found matching your search criteria.</td></tr>'
+          renderGradesPagination(null)
           return
         }
 
-        tbody.innerHTML = results
+        tbody.innerHTML = result.content
           .map(
-            (result) => `
+            (grade) => `
                     <tr>
-                        <td>${result.studentId}</td>
-                        <td>${result.studentName}</td>
-                        <td>${result.course}</td>
-                        <td>${result.currentGrade ? result.currentGrade.toFixed(1) + "%" : "N/A"}</td>
+                        <td>${grade.studentId}</td>
+                        <td>${grade.studentName}</td>
+                        <td>${grade.course}</td>
+                        <td>${grade.assignmentName}</td>
+                        <td>${grade.score != null ? grade.score.toFixed(1) + "%" : "N/A"}</td>
                         <td>
-                            <button class="btn btn-secondary" onclick="editGrade(${result.enrollmentId}, '${result.studentName}', '${result.course}')">Edit</button>
+                            <button class="btn btn-secondary" onclick="editGrade(${grade.enrollmentId}, '${grade.studentName}', '${grade.course}')">Edit</button>
                         </td>
                     </tr>
                 `,
           )
           .join("")
+        renderGradesPagination(result)
       }
     })
     .catch((error) => {
@@ -294,6 +301,22 @@ function searchGrades() {
     })
 }
 
+function renderGradesPagination(result) {
+  const pagination = document.getElementById("gradesPagination")
+  if (!pagination) return
+
+  if (!result || result.totalPages <= 1) {
+    pagination.innerHTML = result ? `<span>${result.totalElements} grades</span>` : ""
+    return
+  }
+
+  pagination.innerHTML = `
+        <button class="btn btn-secondary" ${result.page === 0 ? "disabled" : ""} onclick="searchGrades(${result.page - 1})">Previous</button>
+        <span>Page ${result.page + 1} of ${result.totalPages} (${result.totalElements} grades)</span>
+        <button class="btn btn-secondary" ${result.page + 1 >= result.totalPages ? "disabled" : ""} onclick="searchGrades(${result.page + 1})">Next</button>
+    `
+}
+
 function calculateGPA() {
   const studentId = document.getElementById("gpaStudent").value
 
@@ -10,8 +10,31 @@ document.addEventListener("DOMContentLoaded", () => {
   }
 
   loadStudentData()
+  subscribeToNotifications()
 })
 
+// New notifications are pushed by the server; EventSource reconnects on its own and sends
+// Last-Event-ID, so anything missed while disconnected is replayed
+const seenNotifications = new Set()
+
+function subscribeToNotifications() {
+  if (!window.EventSource) {
+    return
+  }
+  const source = new EventSource("/student/api/notifications/stream")
+  source.addEventListener("notification", (event) => {
+    const notification = JSON.parse(event.data)
+    if (seenNotifications.has(notification.id)) {
+      return
+    }
+    seenNotifications.add(notification.id)
+    showToast(notification.message)
+    if (currentSection === "grades") {
+      loadStudentGrades()
+    }
+  })
+}
+
 function showStudentSection(section) {
   // Hide all sections
   document.querySelectorAll(".content-section").forEach((s) => {
@@ -187,8 +210,10 @@ function enrollInCourse(courseId) {
     })
       .then((response) => {
         if (response.ok) {
-          showToast("Successfully enrolled in course")
-          loadAvailableCourses() // Refresh the course list
+          return response.json().then((data) => {
+            showToast(data.message)
+            loadAvailableCourses() // Refresh the course list
+          })
         } else {
           return response.text().then((text) => {
             throw new Error(text)
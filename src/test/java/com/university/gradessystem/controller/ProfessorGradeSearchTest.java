@@ -0,0 +1,47 @@
+package com.university.gradessystem.controller;
+
+import com.university.gradessystem.model.User;
+import com.university.gradessystem.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The paged grade search only sorts by its whitelisted keys, never by arbitrary property paths
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProfessorGradeSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void sortsByWhitelistedKeys() throws Exception {
+        User professor = fixtures.createUser(User.Role.ROLE_PROFESSOR);
+        for (String sort : new String[] { "gradedDate,desc", "score", "assignmentName", "studentName,asc",
+                "courseCode" }) {
+            mockMvc.perform(get("/professor/api/grades/page").param("sort", sort).with(user(professor)))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void rejectsOtherPropertyPaths() throws Exception {
+        User professor = fixtures.createUser(User.Role.ROLE_PROFESSOR);
+        for (String sort : new String[] { "enrollment.student.password", "enrollment.student.fullName", "id",
+                "nonsense" }) {
+            mockMvc.perform(get("/professor/api/grades/page").param("sort", sort).with(user(professor)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("Invalid sort property: " + sort));
+        }
+    }
+}
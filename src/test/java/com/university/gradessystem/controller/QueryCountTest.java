@@ -0,0 +1,171 @@
+package com.university.gradessystem.controller;
+
+import com.university.gradessystem.model.Course;
+import com.university.gradessystem.model.Enrollment;
+import com.university.gradessystem.model.Grade;
+import com.university.gradessystem.model.GradePolicy;
+import com.university.gradessystem.model.User;
+import com.university.gradessystem.repository.CourseRepository;
+import com.university.gradessystem.repository.EnrollmentRepository;
+import com.university.gradessystem.repository.StudentAcademicSummaryRepository;
+import com.university.gradessystem.service.GradingEngine;
+import com.university.gradessystem.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Guards against N+1 regressions: the statements an endpoint prepares must not grow with the
+// number of courses, enrollments and grades behind it
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class QueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentAcademicSummaryRepository summaryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private User professor;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Fresh users per test so earlier tests' data does not leak into the baseline
+        professor = fixtures.createUser(User.Role.ROLE_PROFESSOR);
+        student = fixtures.createStudent();
+        addCourse(1, 2);
+    }
+
+    @Test
+    void studentDashboardPreparesConstantStatements() throws Exception {
+        long small = countDashboardStatements();
+
+        for (int i = 0; i < 8; i++) {
+            addCourse(15, 6);
+        }
+        long large = countDashboardStatements();
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void professorGradeSearchPreparesConstantStatements() throws Exception {
+        // Smaller than the grades behind it even before courses are added, so both runs include
+        // the page's count query
+        RequestBuilder search = get("/professor/api/grades/page").param("size", "3").with(user(professor));
+        long small = countStatements(search);
+
+        for (int i = 0; i < 4; i++) {
+            addCourse(25, 6);
+        }
+        long large = countStatements(search);
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void professorDashboardPreparesConstantStatements() throws Exception {
+        RequestBuilder dashboard = get("/professor").with(user(professor));
+        long small = countStatements(dashboard);
+
+        for (int i = 0; i < 4; i++) {
+            addCourse(25, 6);
+        }
+        long large = countStatements(dashboard);
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    // The summary is rebuilt on the next read after being dropped, as it would be after the
+    // background rebuild; only the read that follows is counted
+    private long countDashboardStatements() throws Exception {
+        summaryRepository.deleteById(student.getId());
+        RequestBuilder dashboard = get("/student").with(user(student));
+        mockMvc.perform(dashboard).andExpect(status().isOk());
+        return countStatements(dashboard);
+    }
+
+    // Counted on a second call so caches filled by the first one (grade scales) do not skew it
+    private long countStatements(RequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    // A course of the professor with the student and classmates enrolled, each with graded work
+    private void addCourse(int classmates, int gradesPerStudent) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Course course = fixtures.newCourse(classmates + 1);
+            course.setProfessor(professor);
+            GradePolicy policy = new GradePolicy();
+            policy.setGradeScale(GradingEngine.defaultGradeScale());
+            policy.setIncludePlusMinus(true);
+            course.setGradePolicy(policy);
+            courseRepository.save(course);
+
+            enroll(student, course, gradesPerStudent);
+            for (int i = 0; i < classmates; i++) {
+                enroll(fixtures.createStudent(), course, gradesPerStudent);
+            }
+        });
+    }
+
+    // Written through the repositories so no change events start background rebuilds that
+    // would be counted along with the request
+    private void enroll(User enrolled, Course course, int grades) {
+        Enrollment enrollment = new Enrollment(null, enrolled, course, LocalDateTime.now(),
+                Enrollment.EnrollmentStatus.ENROLLED, new HashSet<>());
+        double weightedScoreSum = 0.0;
+        for (int i = 0; i < grades; i++) {
+            Grade grade = new Grade();
+            grade.setEnrollment(enrollment);
+            grade.setAssignmentType("assignment");
+            grade.setAssignmentName("Assignment " + (i + 1));
+            grade.setScore(60.0 + (i * 7) % 40);
+            grade.setWeightPercentage(10.0);
+            grade.setGradedDate(LocalDateTime.now().minusDays(i));
+            grade.setGradedBy(professor);
+            enrollment.getGrades().add(grade);
+            weightedScoreSum += grade.getScore() * 10.0;
+        }
+        // The totals are not insertable; they are only ever moved by the delta update
+        Long enrollmentId = enrollmentRepository.save(enrollment).getId();
+        enrollmentRepository.adjustGradeTotals(enrollmentId, weightedScoreSum, grades * 10.0);
+    }
+}
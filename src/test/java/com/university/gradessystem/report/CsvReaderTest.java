@@ -0,0 +1,73 @@
+package com.university.gradessystem.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+        CsvReader reader = reader("plain,\"a, b\",\"say \"\"hi\"\"\"\r\n\"two\nlines\",x\nlast");
+
+        assertThat(reader.readRecord()).containsExactly("plain", "a, b", "say \"hi\"");
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+        assertThat(reader.readRecord()).containsExactly("two\nlines", "x");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.readRecord()).containsExactly("last");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void keepsEmptyFieldsAndBlankLines() throws IOException {
+        CsvReader reader = reader("\uFEFFa,,\n\n,b\n");
+
+        assertThat(reader.readRecord()).containsExactly("a", "", "");
+        assertThat(reader.readRecord()).containsExactly("");
+        assertThat(reader.readRecord()).containsExactly("", "b");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void readsBackWhatCsvWriterWrites() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out);
+        writer.writeRow("O'Brien, Pat", "He said \"no\"", "multi\r\nline", null, 42);
+        writer.writeRow("second");
+        writer.flush();
+
+        CsvReader reader = new CsvReader(new ByteArrayInputStream(out.toByteArray()));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            records.add(record);
+        }
+
+        assertThat(records).containsExactly(
+                List.of("O'Brien, Pat", "He said \"no\"", "multi\r\nline", "", "42"),
+                List.of("second"));
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() throws IOException {
+        CsvReader reader = reader("ok\n\"never closed,x\n");
+
+        assertThat(reader.readRecord()).containsExactly("ok");
+        assertThatThrownBy(reader::readRecord)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    private static CsvReader reader(String csv) throws IOException {
+        return new CsvReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.university.gradessystem.report;
+
+import com.university.gradessystem.dto.EnrollmentAverage;
+import com.university.gradessystem.dto.StudentGpa;
+import com.university.gradessystem.dto.UserSummary;
+import com.university.gradessystem.model.Enrollment;
+import com.university.gradessystem.model.User;
+import com.university.gradessystem.service.GradeService;
+import com.university.gradessystem.service.GradingEngine;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Timed render of a 60-course transcript: latency and bytes allocated per transcript, measured on
+// the rendering thread after a warm-up. The figures are logged for comparison, not asserted, since
+// they depend on the machine; the test itself only checks that a complete PDF comes out.
+class TranscriptPdfRendererBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TranscriptPdfRendererBenchmarkTest.class);
+
+    private static final int COURSES = 60;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+
+    // Every row uses the default grade scale (no policy id), so no repositories are needed
+    private final TranscriptPdfRenderer renderer = new TranscriptPdfRenderer(
+            new GradeService(null, null, null, new GradingEngine(null), null));
+
+    @Test
+    void rendersSixtyCourseTranscript() throws IOException {
+        UserSummary student = new UserSummary(1L, "bench", "Benchmark Student", "bench@test.edu",
+                User.Role.ROLE_STUDENT, true);
+        StudentGpa transcript = transcriptOf(COURSES);
+
+        ByteArrayOutputStream sample = new ByteArrayOutputStream();
+        renderer.render(student, transcript, sample);
+        String pdf = new String(sample.toByteArray(), StandardCharsets.ISO_8859_1);
+        assertThat(pdf).startsWith("%PDF-");
+        assertThat(pdf.stripTrailing()).endsWith("%%EOF");
+
+        OutputStream discard = OutputStream.nullOutputStream();
+        for (int i = 0; i < WARMUP; i++) {
+            renderer.render(student, transcript, discard);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long startBytes = threads.getCurrentThreadAllocatedBytes();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            renderer.render(student, transcript, discard);
+        }
+        long micros = (System.nanoTime() - startNanos) / 1_000 / ITERATIONS;
+        long allocated = (threads.getCurrentThreadAllocatedBytes() - startBytes) / ITERATIONS;
+        log.info("{}-course transcript: {} bytes of PDF, {} us and {} KB allocated per render", COURSES,
+                sample.size(), micros, allocated / 1024);
+    }
+
+    private static StudentGpa transcriptOf(int courses) {
+        List<EnrollmentAverage> enrollments = new ArrayList<>(courses);
+        for (int i = 0; i < courses; i++) {
+            Enrollment.EnrollmentStatus status = i % 5 == 0
+                    ? Enrollment.EnrollmentStatus.ENROLLED
+                    : Enrollment.EnrollmentStatus.COMPLETED;
+            // Every seventh course is ungraded so the N/A branch is rendered too
+            Double average = i % 7 == 0 ? null : 55.0 + (i * 13) % 45;
+            enrollments.add(new EnrollmentAverage((long) i, (long) i, null, "BEN" + (100 + i),
+                    "Benchmark Course " + i, 3, "Prof. Bench", "Testing", "Fall", status,
+                    LocalDateTime.now().minusMonths(i), average, average != null ? 6 : 0));
+        }
+        return new StudentGpa(1L, 3.1, courses * 3, 78.4, enrollments);
+    }
+}
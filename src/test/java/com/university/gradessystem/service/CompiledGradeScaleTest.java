@@ -0,0 +1,76 @@
+package com.university.gradessystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CompiledGradeScaleTest {
+
+    private static final Map<String, Double> SIX_LETTERS = Map.of(
+            "A", 90.0, "B", 80.0, "C", 70.0, "D", 60.0, "E", 50.0, "F", 0.0);
+
+    @Test
+    void splitsBandsIntoMinusPlainAndPlus() {
+        CompiledGradeScale scale = CompiledGradeScale.compile(GradingEngine.defaultGradeScale(), true);
+
+        assertThat(scale.letter(100.0)).isEqualTo("A");
+        assertThat(scale.letter(92.9)).isEqualTo("A-");
+        assertThat(scale.letter(93.0)).isEqualTo("A");
+        assertThat(scale.letter(87.0)).isEqualTo("B+");
+        assertThat(scale.letter(83.0)).isEqualTo("B");
+        assertThat(scale.letter(80.0)).isEqualTo("B-");
+        assertThat(scale.letter(60.0)).isEqualTo("D-");
+        assertThat(scale.letter(59.9)).isEqualTo("F");
+
+        assertThat(scale.points(95.0)).isEqualTo(4.0);
+        assertThat(scale.points(90.0)).isCloseTo(3.7, within(1e-9));
+        assertThat(scale.points(88.0)).isCloseTo(3.3, within(1e-9));
+        assertThat(scale.points(60.0)).isCloseTo(0.7, within(1e-9));
+        assertThat(scale.points(10.0)).isZero();
+        assertThat(scale.letters()).containsExactly(
+                "A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D+", "D", "D-", "F");
+    }
+
+    @Test
+    void lettersBelowDEarnNothingAndAreNotSplit() {
+        CompiledGradeScale scale = CompiledGradeScale.compile(SIX_LETTERS, true);
+
+        assertThat(scale.letter(59.9)).isEqualTo("E");
+        assertThat(scale.letter(50.0)).isEqualTo("E");
+        assertThat(scale.points(55.0)).isZero();
+        assertThat(scale.letter(49.9)).isEqualTo("F");
+        assertThat(scale.letters()).doesNotContain("E+", "E-");
+        for (double score = 0.0; score <= 100.0; score += 0.5) {
+            assertThat(scale.points(score)).isGreaterThanOrEqualTo(0.0);
+        }
+    }
+
+    @Test
+    void withoutPlusMinusUsesWholeLetters() {
+        CompiledGradeScale scale = CompiledGradeScale.compile(SIX_LETTERS, false);
+
+        assertThat(scale.letter(90.0)).isEqualTo("A");
+        assertThat(scale.points(90.0)).isEqualTo(4.0);
+        assertThat(scale.points(65.0)).isEqualTo(1.0);
+        assertThat(scale.points(55.0)).isZero();
+        assertThat(scale.letters()).containsExactly("A", "B", "C", "D", "E", "F");
+    }
+
+    @Test
+    void scoresBelowTheLowestMinimumFallIntoTheLowestBand() {
+        CompiledGradeScale scale = CompiledGradeScale.compile(Map.of("P", 50.0, "NP", 20.0), false);
+
+        assertThat(scale.letter(5.0)).isEqualTo("NP");
+        assertThat(scale.letter(Double.NaN)).isEqualTo("NP");
+        assertThat(scale.points(5.0)).isZero();
+    }
+
+    @Test
+    void emptyScaleCompilesToNull() {
+        assertThat(CompiledGradeScale.compile(Map.of(), true)).isNull();
+        assertThat(CompiledGradeScale.compile(null, false)).isNull();
+    }
+}
@@ -0,0 +1,106 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.model.Course;
+import com.university.gradessystem.repository.CourseRepository;
+import com.university.gradessystem.repository.EnrollmentRepository;
+import com.university.gradessystem.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Hammers one small course with concurrent enrollStudent calls, each student asking twice,
+// and checks the seat invariant against the enrollments table
+@SpringBootTest
+class EnrollmentConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentConcurrencyTest.class);
+
+    private static final int CAPACITY = 10;
+    private static final int STUDENTS = 80;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentEnrollmentNeverExceedsCapacity() throws Exception {
+        Course course = fixtures.createCourse(CAPACITY);
+        List<Long> studentIds = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            studentIds.add(fixtures.createStudent().getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<?>> calls = new ArrayList<>();
+        // Every student enrolls twice so concurrent duplicates race as well
+        for (int round = 0; round < 2; round++) {
+            for (Long studentId : studentIds) {
+                calls.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        enrollmentService.enrollStudent(studentId, course.getId());
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                        log.warn("Enrollment of student {} failed", studentId, e);
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> call : calls) {
+            call.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        pool.shutdown();
+        log.info("{} enrollment calls on {} threads in {} ms ({} calls/s), {} failed", calls.size(), THREADS,
+                elapsedMillis, calls.size() * 1000L / elapsedMillis, failures.get());
+
+        Course reloaded = courseRepository.findById(course.getId()).orElseThrow();
+        long enrolledRows = enrollmentRepository.countEnrolledStudents(reloaded);
+        Integer waitlistedRows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM enrollments WHERE course_id = ? AND status = 'WAITLISTED'", Integer.class,
+                course.getId());
+        List<Long> duplicates = jdbcTemplate.queryForList(
+                "SELECT student_id FROM enrollments WHERE course_id = ? GROUP BY student_id HAVING COUNT(*) > 1",
+                Long.class, course.getId());
+
+        assertThat(failures.get()).isZero();
+        assertThat(reloaded.getEnrolledCount()).isLessThanOrEqualTo(CAPACITY);
+        assertThat(reloaded.getEnrolledCount()).isEqualTo(enrolledRows);
+        assertThat(reloaded.getEnrolledCount()).isEqualTo(CAPACITY);
+        assertThat(reloaded.getWaitlistedCount()).isEqualTo(waitlistedRows);
+        assertThat(enrolledRows + waitlistedRows).isEqualTo(STUDENTS);
+        assertThat(duplicates).isEmpty();
+    }
+}
@@ -0,0 +1,71 @@
+package com.university.gradessystem.service;
+
+import com.university.gradessystem.model.Enrollment;
+import com.university.gradessystem.repository.EnrollmentRepository;
+import com.university.gradessystem.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A status change must not write back the running grade totals the enrollment was loaded with:
+// a grade posted meanwhile has already moved them in the database
+@SpringBootTest
+class EnrollmentGradeTotalsTest {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void droppingKeepsTotalsPostedAfterLoad() {
+        Map<String, Object> row = changeStatusAfterGradePosted(enrollmentService::dropEnrollment);
+
+        assertThat(row.get("STATUS")).isEqualTo("DROPPED");
+        assertThat(((Number) row.get("WEIGHTED_SCORE_SUM")).doubleValue()).isEqualTo(2550.0);
+        assertThat(((Number) row.get("WEIGHT_SUM")).doubleValue()).isEqualTo(30.0);
+    }
+
+    @Test
+    void completingKeepsTotalsPostedAfterLoad() {
+        Map<String, Object> row = changeStatusAfterGradePosted(enrollmentService::completeEnrollment);
+
+        assertThat(row.get("STATUS")).isEqualTo("COMPLETED");
+        assertThat(((Number) row.get("WEIGHTED_SCORE_SUM")).doubleValue()).isEqualTo(2550.0);
+        assertThat(((Number) row.get("WEIGHT_SUM")).doubleValue()).isEqualTo(30.0);
+    }
+
+    // The enrollment is loaded first, then a grade's delta lands in the database, then the status
+    // changes on the loaded (now stale) instance, as when a grade commits mid-request
+    private Map<String, Object> changeStatusAfterGradePosted(LongConsumer statusChange) {
+        Long enrollmentId = fixtures.createEnrollment(fixtures.createStudent(), fixtures.createCourse(5)).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Enrollment stale = enrollmentRepository.findById(enrollmentId).orElseThrow();
+            assertThat(stale.getWeightSum()).isZero();
+            enrollmentRepository.adjustGradeTotals(enrollmentId, 85.0 * 30.0, 30.0);
+            statusChange.accept(enrollmentId);
+        });
+
+        return jdbcTemplate.queryForMap(
+                "SELECT status, weighted_score_sum, weight_sum FROM enrollments WHERE id = ?", enrollmentId);
+    }
+}
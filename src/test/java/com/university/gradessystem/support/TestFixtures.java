@@ -0,0 +1,68 @@
+package com.university.gradessystem.support;
+
+import com.university.gradessystem.model.Course;
+import com.university.gradessystem.model.Enrollment;
+import com.university.gradessystem.model.User;
+import com.university.gradessystem.repository.CourseRepository;
+import com.university.gradessystem.repository.EnrollmentRepository;
+import com.university.gradessystem.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.UUID;
+
+// Users, courses and enrollments for tests that share the application context. Names and course
+// codes get a random suffix so tests never collide with each other or with the seed data.
+@Component
+public class TestFixtures {
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+
+    public TestFixtures(UserRepository userRepository, CourseRepository courseRepository,
+            EnrollmentRepository enrollmentRepository) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    public User createStudent() {
+        return createUser(User.Role.ROLE_STUDENT);
+    }
+
+    public User createUser(User.Role role) {
+        String username = "test-" + suffix(8);
+        return userRepository.save(new User(null, username, "{noop}pass", "Test " + username,
+                username + "@test.edu", role, true));
+    }
+
+    // Not saved, so callers can assign a professor or grade policy first
+    public Course newCourse(int capacity) {
+        Course course = new Course();
+        course.setCourseCode("T" + suffix(7));
+        course.setTitle("Test Course");
+        course.setCredits(3);
+        course.setDepartment("Testing");
+        course.setCapacity(capacity);
+        course.setActive(true);
+        course.setSemester("Fall");
+        course.setAcademicYear("2025-2026");
+        return course;
+    }
+
+    public Course createCourse(int capacity) {
+        return courseRepository.save(newCourse(capacity));
+    }
+
+    // Written through the repository, so no enrollment events fire and the course counters stay as they are
+    public Enrollment createEnrollment(User student, Course course) {
+        return enrollmentRepository.save(new Enrollment(null, student, course, LocalDateTime.now(),
+                Enrollment.EnrollmentStatus.ENROLLED, new HashSet<>()));
+    }
+
+    private static String suffix(int length) {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, length);
+    }
+}